@@ -0,0 +1,21 @@
+import groovy.json.JsonSlurper
+
+// the second build changes de.properties and en.json: all source files of these languages have to be transformed
+// again, as they write the same target files, so the output is the same as without build cache
+for (String language : ["de", "en", "fr"]) {
+  File cachedFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n-cached/" + language + ".json")
+  File uncachedFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n-uncached/" + language + ".json")
+  assert cachedFile.exists();
+  assert uncachedFile.exists();
+  assert cachedFile.bytes == uncachedFile.bytes
+}
+
+File reportFile = new File(basedir, "target/i18n-maven-plugin/cached-report.json")
+assert reportFile.exists();
+
+def report = new JsonSlurper().parseText(reportFile.getText("utf-8"))
+
+def skipped = report["files"].findAll { it["status"] == "SOURCE_UNCHANGED" }.collect { it["source"] }
+assert skipped.sort() == ["fr.json", "fr.properties"]
+
+return true;
@@ -0,0 +1,6 @@
+// de.properties and de.json would overwrite each other's delta and digest files
+File buildLog = new File(basedir, "build.log")
+assert buildLog.text.contains("Delta is not supported for multiple source files of the same language")
+assert !new File(basedir, "target/i18n-maven-plugin/default-delta").exists();
+
+return true;
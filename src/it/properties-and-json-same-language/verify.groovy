@@ -0,0 +1,11 @@
+// de.properties and de.json write the same target file, the parallel build has to produce the same output
+// as the sequential build, where the source file transformed last wins
+for (String language : ["de", "en", "fr"]) {
+  File sequentialFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n-sequential/" + language + ".json")
+  File parallelFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n-parallel/" + language + ".json")
+  assert sequentialFile.exists();
+  assert parallelFile.exists();
+  assert parallelFile.bytes == sequentialFile.bytes
+}
+
+return true;
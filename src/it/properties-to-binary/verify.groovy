@@ -0,0 +1,24 @@
+// read the binary files with the runtime reader from the runtime artifact of the plugin
+File runtimeJar = new File(basedir, "../..").listFiles().find { it.name.endsWith("-runtime.jar") }
+assert runtimeJar != null
+def classLoader = new URLClassLoader([runtimeJar.toURI().toURL()] as URL[], (ClassLoader)null)
+def bundleClass = classLoader.loadClass("io.wcm.maven.plugins.i18n.runtime.BinaryI18nBundle")
+
+def expected = [
+  "en": "value",
+  "de": "Wert"
+]
+
+expected.each { language, message ->
+  File binaryFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/" + language + ".bin")
+  assert binaryFile.exists();
+
+  def bundle = bundleClass.getMethod("open", java.nio.file.Path).invoke(null, binaryFile.toPath())
+  assert bundle.getLanguage() == language
+  assert bundle.size() == 2
+  assert bundle.get("key1") == message + "1"
+  assert bundle.get("key21.key22.key23") == message + " 2"
+  assert bundle.get("key2") == null
+}
+
+return true;
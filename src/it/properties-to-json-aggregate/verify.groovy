@@ -0,0 +1,35 @@
+import groovy.json.JsonSlurper
+
+def expected = [
+  "module-a": [ "en": "value", "de": "Wert" ],
+  "module-b": [ "fr": "valeur" ]
+]
+
+expected.each { module, languages ->
+  languages.each { language, message ->
+    File jsonFile = new File(basedir, module + "/target/classes/SLING-INF/app-root/i18n/" + language + ".json")
+    assert jsonFile.exists();
+
+    def json = new JsonSlurper().parseText(jsonFile.getText("utf-8"))
+
+    assert json["jcr:language"] == language
+    assert json["key1"]["sling:message"] == message + "1"
+    assert json["key21.key22.key23"]["sling:message"] == message + " 2"
+  }
+}
+
+// module without i18n resources is skipped
+assert !new File(basedir, "module-c/target/classes/SLING-INF").exists();
+
+File reportFile = new File(basedir, "target/i18n-aggregate/io.wcm.maven.plugins.it/i18n-maven-plugin-properties-to-json-aggregate-module-a/i18n-maven-plugin/default-report.json")
+assert reportFile.exists();
+
+def report = new JsonSlurper().parseText(reportFile.getText("utf-8"))
+
+assert report["threads"] == 3
+assert report["totals"]["files"] == 2
+
+File buildLog = new File(basedir, "build.log")
+assert buildLog.text.contains("i18n-maven-plugin-properties-to-json-aggregate-module-b: Transformed 1 i18n resource(s)")
+
+return true;
@@ -0,0 +1,21 @@
+import groovy.json.JsonSlurper
+
+File jsonFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/en.json")
+assert jsonFile.exists();
+
+// the second build skips the unchanged source file, so the delta to the first build is empty
+File deltaFile = new File(basedir, "target/i18n-maven-plugin/default-delta/en.json")
+assert deltaFile.exists();
+
+def delta = new JsonSlurper().parseText(deltaFile.getText("utf-8"))
+
+assert delta["language"] == "en"
+assert delta["full"] == false
+assert delta["added"].isEmpty()
+assert delta["changed"].isEmpty()
+assert delta["removed"].isEmpty()
+
+File digestFile = new File(basedir, "target/i18n-maven-plugin/default-digest/en.digest")
+assert digestFile.exists();
+
+return true;
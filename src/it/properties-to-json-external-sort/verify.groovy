@@ -0,0 +1,41 @@
+import groovy.json.JsonSlurper
+import java.util.zip.GZIPInputStream
+
+File jsonFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/en.json")
+assert jsonFile.exists();
+
+def json = new JsonSlurper().parseText(jsonFile.getText("utf-8"))
+
+assert json["key1"]["sling:message"] == "value1"
+assert json["key21.key22.key23"]["sling:message"] == "value 2"
+assert json["key3"]["sling:message"] == "value 3"
+assert json.keySet().toList() == ["jcr:primaryType", "jcr:mixinTypes", "jcr:language", "key1", "key21.key22.key23", "key3"]
+
+File gzipFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/en.json.gz")
+assert gzipFile.exists();
+assert new GZIPInputStream(new FileInputStream(gzipFile)).getText("utf-8") == jsonFile.getText("utf-8")
+
+File propertiesFile = new File(basedir, "target/classes/i18n-bundle/en.properties")
+assert propertiesFile.exists();
+
+def properties = new Properties()
+propertiesFile.withInputStream { properties.load(it) }
+
+assert properties["key1"] == "value1"
+assert properties["key3"] == "value 3"
+
+File indexFile = new File(basedir, "target/classes/i18n-sharded/en.json")
+assert indexFile.exists();
+
+def index = new JsonSlurper().parse(indexFile, "utf-8")
+assert index["shards"]*.name == ["key21", "_default"]
+assert index["shards"]*.keys == [1, 2]
+
+def shardJson = new JsonSlurper().parse(new File(indexFile.parentFile, "en/key21.json"), "utf-8")
+assert shardJson == ["key21.key22.key23": "value 2"]
+
+// sorted runs, merged file and serialized output are deleted
+File tempDirectory = new File(basedir, "target/i18n-maven-plugin/tmp")
+assert tempDirectory.list().length == 0
+
+return true;
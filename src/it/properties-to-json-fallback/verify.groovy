@@ -0,0 +1,27 @@
+import groovy.json.JsonSlurper
+
+def readJson(String language) {
+  File jsonFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/" + language + ".json")
+  assert jsonFile.exists();
+  return new JsonSlurper().parseText(jsonFile.getText("utf-8"))
+}
+
+def en = readJson("en")
+assert en["jcr:language"] == "en"
+assert en["key1"]["sling:message"] == "value1"
+assert en["key2"]["sling:message"] == "value2"
+assert en["key3"]["sling:message"] == "value3"
+
+def de = readJson("de")
+assert de["jcr:language"] == "de"
+assert de["key1"]["sling:message"] == "Wert1"
+assert de["key2"]["sling:message"] == "Wert2"
+assert de["key3"]["sling:message"] == "value3"
+
+def deCH = readJson("de_CH")
+assert deCH["jcr:language"] == "de_CH"
+assert deCH["key1"]["sling:message"] == "Wert1"
+assert deCH["key2"]["sling:message"] == "Wert2 CH"
+assert deCH["key3"]["sling:message"] == "value3"
+
+return true;
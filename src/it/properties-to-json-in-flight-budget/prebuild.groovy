@@ -0,0 +1,11 @@
+// generate source files whose parsed entries exceed maxInFlightBytes, and whose output exceeds 1 MB
+File i18nDirectory = new File(basedir, "src/main/resources/i18n")
+["en": "value", "de": "Wert"].each { language, message ->
+  new File(i18nDirectory, language + ".properties").withWriter("utf-8") { writer ->
+    for (int i = 0; i < 20000; i++) {
+      writer.write("key" + i + "=" + message + " " + i + "\n")
+    }
+  }
+}
+
+return true;
@@ -0,0 +1,26 @@
+import groovy.json.JsonSlurper
+
+["en": "value", "de": "Wert"].each { language, message ->
+  File jsonFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/" + language + ".json")
+  assert jsonFile.exists();
+  assert jsonFile.length() > 1024 * 1024
+
+  def json = new JsonSlurper().parseText(jsonFile.getText("utf-8"))
+
+  assert json["jcr:language"] == language
+  assert json.size() == 20000 + 3
+  assert json["key0"]["sling:message"] == message + " 0"
+  assert json["key19999"]["sling:message"] == message + " 19999"
+}
+
+File smallJsonFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/fr.json")
+assert smallJsonFile.exists();
+
+def smallJson = new JsonSlurper().parseText(smallJsonFile.getText("utf-8"))
+assert smallJson["key1"]["sling:message"] == "valeur1"
+
+// sorted runs and serialized output streamed to temporary files are deleted
+File tempDirectory = new File(basedir, "target/i18n-maven-plugin/tmp")
+assert tempDirectory.list().length == 0
+
+return true;
@@ -0,0 +1,32 @@
+import groovy.json.JsonSlurper
+
+def expected = [
+  "en": "value",
+  "de": "Wert",
+  "fr": "valeur",
+  "it": "valore",
+  "es": "valor"
+]
+
+expected.each { language, message ->
+  File jsonFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/" + language + ".json")
+  assert jsonFile.exists();
+
+  def json = new JsonSlurper().parseText(jsonFile.getText("utf-8"))
+
+  assert json["jcr:language"] == language
+  assert json["key1"]["sling:message"] == message + "1"
+  assert json["key21.key22.key23"]["sling:message"] == message + " 2"
+}
+
+File reportFile = new File(basedir, "target/i18n-maven-plugin/default-report.json")
+assert reportFile.exists();
+
+def report = new JsonSlurper().parseText(reportFile.getText("utf-8"))
+
+assert report["threads"] == 4
+assert report["totals"]["files"] == 5
+assert report["totals"]["keys"] == 10
+assert report["files"].size() == 5
+
+return true;
@@ -0,0 +1,27 @@
+import groovy.json.JsonSlurper
+import java.util.zip.GZIPInputStream
+
+def expected = [
+  "en": "value",
+  "de": "Wert"
+]
+
+expected.each { language, message ->
+  File jsonFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/" + language + ".json")
+  assert jsonFile.exists();
+
+  // compact output without line breaks
+  def text = jsonFile.getText("utf-8")
+  assert !text.contains("\n")
+
+  def json = new JsonSlurper().parseText(text)
+  assert json["key1"] == message + "1"
+  assert json["key21.key22.key23"] == message + " 2"
+
+  // gzip-compressed copy with same content
+  File gzipFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/" + language + ".json.gz")
+  assert gzipFile.exists();
+  assert new GZIPInputStream(new FileInputStream(gzipFile)).getText("utf-8") == text
+}
+
+return true;
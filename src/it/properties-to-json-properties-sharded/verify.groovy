@@ -0,0 +1,29 @@
+import groovy.json.JsonSlurper
+
+def expected = [
+  "en": ["Shop", "Login", "Pay now"],
+  "de": ["Laden", "Anmelden", "Jetzt bezahlen"]
+]
+
+expected.each { language, messages ->
+  File indexFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/" + language + ".json")
+  assert indexFile.exists();
+
+  def index = new JsonSlurper().parse(indexFile, "utf-8")
+  assert index["language"] == language
+  assert index["shards"]*.name == ["account", "checkout", "_default"]
+  assert index["shards"]*.keys == [2, 2, 1]
+
+  def shards = index["shards"].collectEntries { shard ->
+    File shardFile = new File(indexFile.parentFile, shard["file"])
+    assert shardFile.exists();
+    [(shard["name"]): new JsonSlurper().parse(shardFile, "utf-8")]
+  }
+  assert shards["_default"]["title"] == messages[0]
+  assert shards["account"]["account.login"] == messages[1]
+  assert shards["account"]["account.profile.name"] == "Name"
+  assert shards["checkout"]["checkout.pay"] == messages[2]
+  assert shards["checkout"].size() == 2
+}
+
+return true;
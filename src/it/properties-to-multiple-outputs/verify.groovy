@@ -0,0 +1,31 @@
+import groovy.json.JsonSlurper
+
+File jsonFile = new File(basedir, "target/classes/SLING-INF/app-root/i18n/en.json")
+assert jsonFile.exists();
+
+def json = new JsonSlurper().parseText(jsonFile.getText("utf-8"))
+
+assert json["key1"]["sling:message"] == "value1"
+assert json["key21.key22.key23"]["sling:message"] == "value 2"
+
+File jsonPropertiesFile = new File(basedir, "target/classes/i18n-bundle/en.json")
+assert jsonPropertiesFile.exists();
+
+def jsonProperties = new JsonSlurper().parseText(jsonPropertiesFile.getText("utf-8"))
+
+assert jsonProperties["key1"] == "value1"
+assert jsonProperties["key21.key22.key23"] == "value 2"
+
+File propertiesFile = new File(basedir, "target/classes/i18n-bundle/en.properties")
+assert propertiesFile.exists();
+
+def properties = new Properties()
+propertiesFile.withInputStream { properties.load(it) }
+
+assert properties["key1"] == "value1"
+assert properties["key21.key22.key23"] == "value 2"
+
+File buildLog = new File(basedir, "build.log")
+assert buildLog.getText("utf-8").contains("Transformed 1 i18n resource(s)")
+
+return true;
@@ -0,0 +1,23 @@
+import groovy.json.JsonSlurper
+
+File buildLog = new File(basedir, "build.log")
+assert buildLog.text.contains("fr: 1 missing, 1 extra, 1 with placeholder mismatch")
+assert buildLog.text.contains("Validated 2 i18n resource(s) against reference language 'en'")
+
+// build fails before the i18n resources are transformed
+assert !new File(basedir, "target/classes/SLING-INF").exists();
+
+File reportFile = new File(basedir, "target/i18n-maven-plugin/default-validation.json")
+assert reportFile.exists();
+
+def report = new JsonSlurper().parseText(reportFile.getText("utf-8"))
+assert report["referenceLanguage"] == "en"
+// entries of de.properties and de.json are validated together against en.properties and en.json
+assert report["files"]*.file.collect { it.split(", ") as Set } == [["de.properties", "de.json"] as Set, ["fr.properties"] as Set]
+assert report["files"][0]["reference"].split(", ") as Set == ["en.properties", "en.json"] as Set
+assert report["files"]*.valid == [true, false]
+assert report["files"][1]["missingKeys"] == ["key3"]
+assert report["files"][1]["extraKeys"] == ["key4"]
+assert report["files"][1]["placeholderMismatchKeys"] == ["key2"]
+
+return true;
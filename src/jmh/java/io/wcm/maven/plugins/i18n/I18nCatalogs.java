@@ -0,0 +1,182 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.wcm.maven.plugins.i18n.readers.I18nReader;
+import io.wcm.maven.plugins.i18n.readers.JsonI18nReader;
+import io.wcm.maven.plugins.i18n.readers.PropertiesI18nReader;
+import io.wcm.maven.plugins.i18n.readers.XmlI18nReader;
+
+/**
+ * Generates synthetic i18n catalogs for benchmarks.
+ * Keys are structured as <code>group.section.key</code> with 100 keys per section and 100 sections per group,
+ * every 10th key contains an umlaut to exercise key escaping.
+ */
+final class I18nCatalogs {
+
+  private static final int KEYS_PER_SECTION = 100;
+  private static final int SECTIONS_PER_GROUP = 100;
+
+  private I18nCatalogs() {
+    // static methods only
+  }
+
+  /**
+   * @param keyCount Number of keys
+   * @return Map with i18n keys and values
+   */
+  static Map<String, String> createEntries(int keyCount) {
+    Map<String, String> entries = new HashMap<>();
+    for (int i = 0; i < keyCount; i++) {
+      entries.put(group(i) + "." + section(i) + "." + key(i), value(i));
+    }
+    return entries;
+  }
+
+  /**
+   * Writes a source file in the given format to a temp file.
+   * @param keyCount Number of keys
+   * @param sourceFormat File extension: properties, json or xml
+   * @return Source file
+   * @throws IOException I/O exception
+   */
+  static File writeSourceFile(int keyCount, String sourceFormat) throws IOException {
+    File file = File.createTempFile("i18n-benchmark-", "." + sourceFormat);
+    file.deleteOnExit();
+    try (Writer writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+      switch (sourceFormat) {
+        case "properties":
+          writeProperties(writer, keyCount);
+          break;
+        case "json":
+          writeJson(writer, keyCount);
+          break;
+        case "xml":
+          writeXml(writer, keyCount);
+          break;
+        default:
+          throw new IllegalArgumentException("Unsupported source format: " + sourceFormat);
+      }
+    }
+    return file;
+  }
+
+  /**
+   * @param sourceFormat File extension: properties, json or xml
+   * @return Reader for the given source format
+   */
+  static I18nReader getReader(String sourceFormat) {
+    switch (sourceFormat) {
+      case "properties":
+        return new PropertiesI18nReader();
+      case "json":
+        return new JsonI18nReader();
+      case "xml":
+        return new XmlI18nReader();
+      default:
+        throw new IllegalArgumentException("Unsupported source format: " + sourceFormat);
+    }
+  }
+
+  private static void writeProperties(Writer writer, int keyCount) throws IOException {
+    for (int i = 0; i < keyCount; i++) {
+      writer.write(group(i) + "." + section(i) + "." + key(i) + "=" + value(i) + "\n");
+    }
+  }
+
+  private static void writeJson(Writer writer, int keyCount) throws IOException {
+    writer.write("{\n");
+    for (int i = 0; i < keyCount; i++) {
+      boolean firstInGroup = i % (KEYS_PER_SECTION * SECTIONS_PER_GROUP) == 0;
+      boolean firstInSection = i % KEYS_PER_SECTION == 0;
+      if (firstInGroup) {
+        if (i > 0) {
+          writer.write("\n}\n},\n");
+        }
+        writer.write("\"" + group(i) + "\": {\n");
+      }
+      if (firstInSection) {
+        if (!firstInGroup) {
+          writer.write("\n},\n");
+        }
+        writer.write("\"" + section(i) + "\": {\n");
+      }
+      else {
+        writer.write(",\n");
+      }
+      writer.write("\"" + key(i) + "\": \"" + value(i) + "\"");
+    }
+    if (keyCount > 0) {
+      writer.write("\n}\n}\n");
+    }
+    writer.write("}\n");
+  }
+
+  private static void writeXml(Writer writer, int keyCount) throws IOException {
+    writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<i18n>\n");
+    for (int i = 0; i < keyCount; i++) {
+      boolean firstInGroup = i % (KEYS_PER_SECTION * SECTIONS_PER_GROUP) == 0;
+      boolean firstInSection = i % KEYS_PER_SECTION == 0;
+      if (firstInSection && i > 0) {
+        writer.write("</" + section(i - 1) + ">\n");
+      }
+      if (firstInGroup) {
+        if (i > 0) {
+          writer.write("</" + group(i - 1) + ">\n");
+        }
+        writer.write("<" + group(i) + ">\n");
+      }
+      if (firstInSection) {
+        writer.write("<" + section(i) + ">\n");
+      }
+      writer.write("<" + key(i) + ">" + value(i) + "</" + key(i) + ">\n");
+    }
+    if (keyCount > 0) {
+      writer.write("</" + section(keyCount - 1) + ">\n</" + group(keyCount - 1) + ">\n");
+    }
+    writer.write("</i18n>\n");
+  }
+
+  private static String group(int index) {
+    return "group" + (index / (KEYS_PER_SECTION * SECTIONS_PER_GROUP));
+  }
+
+  private static String section(int index) {
+    return "section" + ((index / KEYS_PER_SECTION) % SECTIONS_PER_GROUP);
+  }
+
+  private static String key(int index) {
+    int key = index % KEYS_PER_SECTION;
+    return (key % 10 == 0 ? "keyänderung" : "key") + key;
+  }
+
+  private static String value(int index) {
+    return "Message text number " + index + " with placeholder {0}";
+  }
+
+}
@@ -0,0 +1,139 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures building the sorted {@link SlingI18nMap} and serializing it in each output format, using the stream
+ * writers of the plugin.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OutputFormatBenchmark {
+
+  @Param({ "1000", "100000", "1000000" })
+  private int keyCount;
+
+  // output format name, the enum itself is not visible to the generated benchmark code
+  @Param({ "JSON", "JSON_PROPERTIES", "JSON_PROPERTIES_SHARDED", "XML", "PROPERTIES", "BINARY" })
+  private String outputFormat;
+
+  private Map<String, String> entries;
+  private OutputFormat selectedOutputFormat;
+  private KeySharding keySharding;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    entries = I18nCatalogs.createEntries(keyCount);
+    selectedOutputFormat = OutputFormat.valueOf(outputFormat);
+    keySharding = new KeySharding(Collections.emptyList(), 1);
+  }
+
+  @Benchmark
+  public void transform(Blackhole blackhole) throws IOException {
+    SlingI18nMap map = new SlingI18nMap("en", entries);
+    OutputStream out = new BlackholeOutputStream(blackhole);
+    switch (selectedOutputFormat) {
+      case JSON:
+        map.writeI18nJson(out);
+        break;
+      case JSON_PROPERTIES:
+        map.writeI18nJsonProperties(out);
+        break;
+      case JSON_PROPERTIES_SHARDED:
+        writeShards(map, out);
+        break;
+      case XML:
+        map.writeI18nXml(out);
+        break;
+      case PROPERTIES:
+        map.writeI18nProperties(out);
+        break;
+      case BINARY:
+        map.writeI18nBinary(out, true);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported output format: " + selectedOutputFormat);
+    }
+  }
+
+  /**
+   * Writes all shards and the index to the same stream, like the plugin writes them to separate files.
+   */
+  private void writeShards(SlingI18nMap map, OutputStream out) throws IOException {
+    Map<String, String> shardFiles = new LinkedHashMap<>();
+    Map<String, Integer> shardSizes = new HashMap<>();
+    for (Map.Entry<String, SlingI18nMap> shard : map.split(keySharding).entrySet()) {
+      shard.getValue().writeI18nJsonProperties(out);
+      shardFiles.put(shard.getKey(), "en/" + KeySharding.getFileName(shard.getKey()) + ".json");
+      shardSizes.put(shard.getKey(), shard.getValue().size());
+    }
+    KeySharding.writeIndex(out, "en", shardFiles, shardSizes, true);
+  }
+
+  /**
+   * Discards all output, but feeds it into the blackhole to prevent dead code elimination.
+   */
+  private static final class BlackholeOutputStream extends OutputStream {
+
+    private final Blackhole blackhole;
+
+    BlackholeOutputStream(Blackhole blackhole) {
+      this.blackhole = blackhole;
+    }
+
+    @Override
+    public void write(int b) {
+      blackhole.consume(b);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      blackhole.consume(b);
+    }
+
+  }
+
+}
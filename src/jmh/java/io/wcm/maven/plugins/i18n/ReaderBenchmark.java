@@ -0,0 +1,84 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.wcm.maven.plugins.i18n.readers.I18nReader;
+
+/**
+ * Measures reading i18n source files in the supported source formats.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReaderBenchmark {
+
+  @Param({ "1000", "100000", "1000000" })
+  private int keyCount;
+
+  @Param({ "properties", "json", "xml" })
+  private String sourceFormat;
+
+  private File sourceFile;
+  private I18nReader reader;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    sourceFile = I18nCatalogs.writeSourceFile(keyCount, sourceFormat);
+    reader = I18nCatalogs.getReader(sourceFormat);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    sourceFile.delete();
+  }
+
+  @Benchmark
+  public Map<String, String> read() throws IOException {
+    return reader.read(sourceFile);
+  }
+
+  @Benchmark
+  public SlingI18nMap readSlingI18nMap() throws IOException {
+    return SlingI18nMap.read("en", reader, sourceFile);
+  }
+
+}
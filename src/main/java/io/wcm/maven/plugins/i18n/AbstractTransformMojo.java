@@ -0,0 +1,509 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.zip.Deflater;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+import io.wcm.maven.plugins.i18n.I18nTransformer.TransformResult;
+
+/**
+ * Common configuration and execution of the transform goals. The i18n source files of all projects returned by
+ * {@link #createTransformers(List)} are transformed in a single pass sharing one thread pool.
+ */
+public abstract class AbstractTransformMojo extends AbstractMojo {
+
+  /**
+   * Relative target path for the generated resources.
+   */
+  @Parameter(defaultValue = "SLING-INF/app-root/i18n")
+  private String target;
+
+  /**
+   * Output format. Possible values:
+   * <ul>
+   * <li><code>JSON</code>: Sling Message format serialized as JSON.</li>
+   * <li><code>JSON_PROPERTIES</code>: Flat list of key/value pairs in JSON format.</li>
+   * <li><code>JSON_PROPERTIES_SHARDED</code>: Flat list of key/value pairs in JSON format, split into one file per
+   * key namespace. For a language <code>en</code> the shards are written to the directory <code>en</code>,
+   * and <code>en.json</code> contains the index of the shards with their key prefixes and file paths.
+   * See <code>shardPrefixes</code> and <code>shardDepth</code>.</li>
+   * <li><code>XML</code>: Sling Message format serialized as JCR XML.</li>
+   * <li><code>PROPERTIES</code>: Flat list of key/value pairs in Java Properties format.</li>
+   * <li><code>BINARY</code>: Sorted key table with string pool in a compact binary format, that can be
+   * memory-mapped and read without parsing, see the runtime reader <code>BinaryI18nBundle</code> in the artifact
+   * with classifier <code>runtime</code>.</li>
+   * </ul>
+   */
+  @Parameter(defaultValue = "JSON")
+  private String outputFormat;
+
+  /**
+   * List of outputs, each with an output format and an optional relative target path. Use this instead of
+   * <code>outputFormat</code> to generate multiple output formats from a single parse of the source files:
+   *
+   * <pre>
+   * &lt;outputs&gt;
+   *   &lt;output&gt;
+   *     &lt;format&gt;JSON&lt;/format&gt;
+   *   &lt;/output&gt;
+   *   &lt;output&gt;
+   *     &lt;format&gt;JSON_PROPERTIES&lt;/format&gt;
+   *     &lt;target&gt;i18n-bundle&lt;/target&gt;
+   *   &lt;/output&gt;
+   * &lt;/outputs&gt;
+   * </pre>
+   *
+   * Each output format can be configured only once, and output formats with the same file extension need different
+   * target paths. If set, <code>outputFormat</code> is ignored and <code>target</code> is used for outputs without a
+   * target path.
+   */
+  @Parameter
+  private List<Output> outputs;
+
+  /**
+   * Key namespaces for output format <code>JSON_PROPERTIES_SHARDED</code>. Each namespace gets its own shard
+   * containing all keys starting with the namespace followed by a dot, e.g. <code>checkout</code> for keys like
+   * <code>checkout.button.submit</code>. Keys not matching any namespace are written to the shard
+   * <code>_default</code>. Namespaces must not be nested. If not set, the namespaces are derived from the keys
+   * using <code>shardDepth</code>.
+   */
+  @Parameter
+  private List<String> shardPrefixes;
+
+  /**
+   * Number of leading key segments used as namespace for output format <code>JSON_PROPERTIES_SHARDED</code>
+   * if no <code>shardPrefixes</code> are configured. Keys with not more segments than this are written to the shard
+   * <code>_default</code>.
+   */
+  @Parameter(property = "i18n.shardDepth", defaultValue = "1")
+  private int shardDepth;
+
+  /**
+   * Format JSON and XML output with indentation and line breaks. Set to false to write compact output,
+   * e.g. for bundles that are served directly to browsers. <code>PROPERTIES</code> output is not affected.
+   */
+  @Parameter(property = "i18n.prettyPrint", defaultValue = "true")
+  private boolean prettyPrint;
+
+  /**
+   * Write a gzip-compressed copy of each generated file next to it with the additional file extension
+   * <code>.gz</code>, so web servers can serve precompressed files. Both files are written from the same
+   * serialization pass.
+   */
+  @Parameter(property = "i18n.gzip", defaultValue = "false")
+  private boolean gzip;
+
+  /**
+   * Compression level of the gzip-compressed files, from 1 (fastest) to 9 (best compression).
+   */
+  @Parameter(property = "i18n.gzipLevel", defaultValue = "9")
+  private int gzipLevel;
+
+  /**
+   * Write a minimal perfect hash table of the keys for output format <code>BINARY</code>, so keys are looked up
+   * with a single probe instead of a binary search. Increases the file size by about 5 bytes per key.
+   */
+  @Parameter(property = "i18n.binaryPerfectHash", defaultValue = "true")
+  private boolean binaryPerfectHash;
+
+  /**
+   * Number of threads used to transform the i18n source files in parallel.
+   * If set to 0 (default), the number of available processors is used. Set to 1 to transform all files sequentially.
+   */
+  @Parameter(property = "i18n.threads", defaultValue = "0")
+  private int threads;
+
+  /**
+   * Maximum estimated number of bytes of parsed entries and generated output held in memory while transforming files
+   * in parallel. The heap usage of a source file is estimated from its size before it is read, and from its parsed
+   * entries afterwards. Generated output of more than 1 MB per target file is streamed to temporary files and not
+   * held in memory. Reading further source files is delayed until enough target files are written. Source files whose
+   * estimated heap usage exceeds this are sorted on disk, see <code>externalSortThreshold</code>. If that is not
+   * possible, they are transformed when no other file is in progress. If set to 0 (default), a quarter of the maximum
+   * heap size is used.
+   */
+  @Parameter(property = "i18n.maxInFlightBytes", defaultValue = "0")
+  private long maxInFlightBytes;
+
+  /**
+   * Minimum size in bytes of i18n source files that are parsed in parallel: .properties files are split into
+   * chunks at line boundaries that are parsed concurrently, and the keys of all source files above this size are
+   * sorted in parallel. Set to 0 to parse all files on a single thread.
+   */
+  @Parameter(property = "i18n.parallelParseThreshold", defaultValue = "8388608")
+  private long parallelParseThreshold;
+
+  /**
+   * Minimum size in bytes of i18n source files whose entries are sorted on disk instead of in memory, for catalogs
+   * that do not fit into the heap. Smaller source files whose parsed entries are estimated to exceed
+   * <code>maxInFlightBytes</code> are sorted on disk as well. The entries are sorted in runs of
+   * <code>externalSortRunBytes</code> that are written to temporary files in <code>target/i18n-maven-plugin/tmp</code>
+   * and merged. The output format <code>BINARY</code> still needs all entries in memory, and
+   * <code>JSON_PROPERTIES_SHARDED</code> the entries of the default shard. Keys that result in the same escaped key
+   * are detected by sorting the keys on disk again. Not used when merging fallback languages. Set to 0 to always sort
+   * in memory.
+   */
+  @Parameter(property = "i18n.externalSortThreshold", defaultValue = "268435456")
+  private long externalSortThreshold;
+
+  /**
+   * Maximum estimated heap usage in bytes of the entries sorted in memory as a single run when sorting on disk,
+   * see <code>externalSortThreshold</code>. Limited to <code>maxInFlightBytes</code>.
+   */
+  @Parameter(property = "i18n.externalSortRunBytes", defaultValue = "67108864")
+  private long externalSortRunBytes;
+
+  /**
+   * Skip transformation of i18n source files whose content did not change since the previous build
+   * with the same plugin version and configuration. Source files of the same language with different file extensions
+   * are only skipped if none of them changed, as they write the same target files. The content hashes of the source
+   * files are stored in an index file in the build directory.
+   */
+  @Parameter(property = "i18n.cache", defaultValue = "true")
+  private boolean cache;
+
+  /**
+   * Write a report with statistics of the transformation to <code>target/i18n-maven-plugin</code> in JSON format.
+   * It contains the wall time, key count, bytes read, serialized and written, number of target files written and not
+   * written because their content was unchanged, and allocated bytes for each source file, and the time spent in the
+   * phases discovery, read, serialize and write.
+   */
+  @Parameter(property = "i18n.report", defaultValue = "true")
+  private boolean report;
+
+  /**
+   * Merge each language with its fallback languages, so all messages of the fallback chain are contained in a single
+   * bundle and can be resolved with a single lookup at runtime. The fallback languages are derived from the file name,
+   * e.g. <code>de_CH</code> falls back to <code>de</code>, followed by <code>fallbackLanguage</code> if set.
+   * Messages defined in a language take precedence over messages of its fallback languages.
+   */
+  @Parameter(property = "i18n.mergeFallbackLanguages", defaultValue = "false")
+  private boolean mergeFallbackLanguages;
+
+  /**
+   * Language used as last fallback for all other languages when <code>mergeFallbackLanguages</code> is enabled,
+   * e.g. <code>en</code>.
+   */
+  @Parameter(property = "i18n.fallbackLanguage")
+  private String fallbackLanguage;
+
+  /**
+   * Write a key-level delta of each language to the previous build to <code>target/i18n-maven-plugin</code>,
+   * listing the added, changed and removed keys in JSON format, so deployments can apply only the changed messages.
+   * The keys and value hashes of the previous build are kept in a digest file per language in the build directory,
+   * after a clean build the delta contains all keys as added. Requires a single source file per language.
+   */
+  @Parameter(property = "i18n.delta", defaultValue = "false")
+  private boolean delta;
+
+  @Parameter(defaultValue = "generated-i18n-resources")
+  private String generatedResourcesFolderPath;
+
+  @Parameter(defaultValue = "${mojoExecution}", readonly = true)
+  private MojoExecution mojoExecution;
+
+  @Parameter(defaultValue = "${plugin.version}", readonly = true)
+  private String pluginVersion;
+
+  @Component
+  private BuildContext buildContext;
+
+  private KeySharding keySharding;
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    if (gzip && (gzipLevel < Deflater.BEST_SPEED || gzipLevel > Deflater.BEST_COMPRESSION)) {
+      throw new MojoExecutionException("Invalid gzip level: " + gzipLevel);
+    }
+    List<OutputTarget> outputTargets = getOutputTargets();
+    try {
+      keySharding = new KeySharding(shardPrefixes != null ? shardPrefixes : Collections.emptyList(), shardDepth);
+    }
+    catch (IllegalArgumentException ex) {
+      throw new MojoExecutionException(ex.getMessage(), ex);
+    }
+    try {
+      transform(createTransformers(outputTargets));
+    }
+    catch (IOException ex) {
+      throw new MojoFailureException("Failure to transform i18n resources", ex);
+    }
+  }
+
+  /**
+   * Creates the transformers for all projects whose i18n source files should be transformed.
+   * @param outputTargets Output targets
+   * @return Transformers
+   * @throws IOException I/O exception
+   */
+  abstract List<I18nTransformer> createTransformers(List<OutputTarget> outputTargets) throws IOException;
+
+  /**
+   * Logs the summary of a transformer with at least one transformed source file.
+   * @param transformer Transformer
+   * @param summary Summary
+   */
+  void logSummary(I18nTransformer transformer, String summary) {
+    getLog().info(summary);
+  }
+
+  /**
+   * Get the configured outputs. If the <code>outputs</code> parameter is not set a single output is built from
+   * <code>outputFormat</code> and <code>target</code>, using the generated resources folder directly.
+   * Otherwise each output gets its own sub folder named after the output format.
+   * @return Output targets
+   */
+  List<OutputTarget> getOutputTargets() throws MojoExecutionException {
+    return getOutputTargets(outputs, outputFormat, target, generatedResourcesFolderPath);
+  }
+
+  /**
+   * Get the output targets. Outputs with the same target path and file extension would overwrite each other's
+   * files in the build output, e.g. <code>JSON</code> and <code>JSON_PROPERTIES</code>, so they are rejected.
+   * @param outputs Outputs, may be null
+   * @param outputFormat Output format used if no outputs are configured
+   * @param target Target path used for outputs without target path
+   * @param generatedResourcesFolderPath Generated resources folder path
+   * @return Output targets
+   */
+  static List<OutputTarget> getOutputTargets(List<Output> outputs, String outputFormat, String target,
+      String generatedResourcesFolderPath) throws MojoExecutionException {
+    if (outputs == null || outputs.isEmpty()) {
+      return Collections.singletonList(new OutputTarget(OutputFormat.valueOf(StringUtils.upperCase(outputFormat)),
+          target, generatedResourcesFolderPath));
+    }
+    List<OutputTarget> outputTargets = new ArrayList<>(outputs.size());
+    Set<OutputFormat> outputFormats = EnumSet.noneOf(OutputFormat.class);
+    Map<String, OutputFormat> outputFormatsByTargetFiles = new HashMap<>();
+    for (Output output : outputs) {
+      if (StringUtils.isBlank(output.getFormat())) {
+        throw new MojoExecutionException("Missing format for output.");
+      }
+      OutputFormat format = OutputFormat.valueOf(StringUtils.upperCase(output.getFormat()));
+      if (!outputFormats.add(format)) {
+        throw new MojoExecutionException("Output format configured more than once: " + format);
+      }
+      String outputTarget = StringUtils.defaultString(output.getTarget(), target);
+      String targetFiles = StringUtils.strip(StringUtils.replace(outputTarget, "\\", "/"), "/")
+          + "/*." + format.getFileExtension();
+      OutputFormat otherFormat = outputFormatsByTargetFiles.put(targetFiles, format);
+      if (otherFormat != null) {
+        throw new MojoExecutionException("Output formats " + otherFormat + " and " + format
+            + " write the same files to target '" + outputTarget + "', configure a different target for one of them.");
+      }
+      outputTargets.add(new OutputTarget(format, outputTarget,
+          generatedResourcesFolderPath + "/" + StringUtils.lowerCase(format.name())));
+    }
+    return outputTargets;
+  }
+
+  /**
+   * Transforms the source files of all given transformers. If more than one thread is configured the files are
+   * transformed in a pipeline overlapping the reading, serializing and writing of multiple files, but log output,
+   * statistics and error reporting always follow the order of the transformers and their source files.
+   * @param transformers Transformers
+   */
+  void transform(List<I18nTransformer> transformers)
+      throws IOException, MojoExecutionException, MojoFailureException {
+    List<TransformTask> tasks = new ArrayList<>();
+    for (I18nTransformer transformer : transformers) {
+      for (File file : transformer.prepare()) {
+        tasks.add(new TransformTask(transformer, file));
+      }
+    }
+
+    int threadCount = getThreadCount(tasks.size());
+    if (threads == 1 || tasks.size() <= 1) {
+      for (TransformTask task : tasks) {
+        task.transformer.addResult(task.transformer.transformFile(task.file));
+      }
+    }
+    else {
+      long maxBytes = getMaxInFlightBytes();
+      getLog().debug("Transforming " + tasks.size() + " i18n files using " + threadCount + " threads "
+          + "with up to " + maxBytes + " bytes in flight.");
+      try (TransformPipeline pipeline = new TransformPipeline(threadCount, maxBytes)) {
+        List<Future<TransformResult>> futures = new ArrayList<>(tasks.size());
+        // source files of the same language with different file extensions write the same target files,
+        // they are transformed one after another in the order of the source files like in a sequential build
+        Map<String, CompletableFuture<TransformResult>> lastFutureByLanguagePath = new HashMap<>();
+        for (TransformTask task : tasks) {
+          String languagePath = LanguageFallback.getLanguagePath(task.file);
+          CompletableFuture<TransformResult> future = pipeline.submit(task.transformer, task.file,
+              lastFutureByLanguagePath.get(languagePath));
+          lastFutureByLanguagePath.put(languagePath, future);
+          futures.add(future);
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+          tasks.get(i).transformer.addResult(getResult(futures.get(i)));
+        }
+      }
+      catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new MojoExecutionException("Interrupted while transforming i18n resources", ex);
+      }
+    }
+
+    for (I18nTransformer transformer : transformers) {
+      String summary = transformer.finish(Math.max(threadCount, 1));
+      if (summary != null) {
+        logSummary(transformer, summary);
+      }
+    }
+  }
+
+  private TransformResult getResult(Future<TransformResult> result) throws MojoExecutionException, MojoFailureException {
+    try {
+      return result.get();
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while transforming i18n resources", ex);
+    }
+    catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof MojoFailureException) {
+        throw (MojoFailureException)cause;
+      }
+      throw new MojoExecutionException("Failure to transform i18n resources", cause);
+    }
+  }
+
+  private int getThreadCount(int fileCount) {
+    int threadCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    return Math.min(threadCount, fileCount);
+  }
+
+  long getMaxInFlightBytes() {
+    return maxInFlightBytes > 0 ? maxInFlightBytes : Runtime.getRuntime().maxMemory() / 4;
+  }
+
+  long getExternalSortThreshold() {
+    return this.externalSortThreshold;
+  }
+
+  long getExternalSortRunBytes() {
+    return this.externalSortRunBytes;
+  }
+
+  long getParallelParseThreshold() {
+    return this.parallelParseThreshold;
+  }
+
+  boolean isCache() {
+    return this.cache;
+  }
+
+  boolean isReport() {
+    return this.report;
+  }
+
+  boolean isDelta() {
+    return this.delta;
+  }
+
+  KeySharding getKeySharding() {
+    return this.keySharding;
+  }
+
+  String getKeyShardingConfiguration() {
+    return StringUtils.defaultString(StringUtils.join(shardPrefixes, ",")) + ";shardDepth=" + shardDepth;
+  }
+
+  boolean isPrettyPrint() {
+    return this.prettyPrint;
+  }
+
+  boolean isGzip() {
+    return this.gzip;
+  }
+
+  int getGzipLevel() {
+    return this.gzipLevel;
+  }
+
+  boolean isBinaryPerfectHash() {
+    return this.binaryPerfectHash;
+  }
+
+  boolean isMergeFallbackLanguages() {
+    return this.mergeFallbackLanguages;
+  }
+
+  String getFallbackLanguage() {
+    return this.fallbackLanguage;
+  }
+
+  String getPluginVersion() {
+    return this.pluginVersion;
+  }
+
+  String getExecutionId() {
+    return this.mojoExecution.getExecutionId();
+  }
+
+  BuildContext getBuildContext() {
+    return this.buildContext;
+  }
+
+  /**
+   * @return true if only the source files changed since the last build should be transformed
+   */
+  boolean isIncrementalBuild() {
+    return this.buildContext.isIncremental();
+  }
+
+  /**
+   * Source file of a transformer.
+   */
+  private static final class TransformTask {
+
+    private final I18nTransformer transformer;
+    private final File file;
+
+    TransformTask(I18nTransformer transformer, File file) {
+      this.transformer = transformer;
+      this.file = file;
+    }
+
+  }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.wcm.maven.plugins.i18n.runtime.BinaryI18nFormat;
+
+/**
+ * Writes i18n entries in binary format. The file layout is specified by the runtime reader
+ * {@link io.wcm.maven.plugins.i18n.runtime.BinaryI18nBundle}.
+ */
+final class BinaryI18nWriter {
+
+  /**
+   * Average number of keys per bucket of the perfect hash table.
+   */
+  private static final int KEYS_PER_BUCKET = 4;
+
+  /**
+   * Maximum number of seeds tried to place a bucket, the hash table is omitted if a bucket cannot be placed.
+   */
+  private static final int MAX_SEED = 1 << 20;
+
+  private BinaryI18nWriter() {
+    // static methods only
+  }
+
+  /**
+   * Writes the i18n entries.
+   * @param outputStream Output stream
+   * @param languageKey Language key
+   * @param entries I18n entries
+   * @param perfectHash Whether to write a perfect hash table for constant time lookups
+   * @return false if a perfect hash table was requested, but no perfect hash was found for the keys
+   * @throws IOException I/O exception, or the file would exceed the maximum size of a memory-mapped buffer
+   */
+  static boolean write(OutputStream outputStream, String languageKey, Map<String, String> entries,
+      boolean perfectHash) throws IOException {
+    int entryCount = entries.size();
+
+    // entries sorted by the UTF-8 bytes of their keys, the runtime reader compares keys without decoding them
+    List<Map.Entry<byte[], String>> sortedEntries = new ArrayList<>(entryCount);
+    for (Map.Entry<String, String> entry : entries.entrySet()) {
+      sortedEntries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey().getBytes(StandardCharsets.UTF_8),
+          entry.getValue()));
+    }
+    sortedEntries.sort(Map.Entry.comparingByKey(Arrays::compareUnsigned));
+
+    StringPool pool = new StringPool();
+    int languageIndex = pool.add(languageKey);
+    List<byte[]> keys = new ArrayList<>(entryCount);
+    int[] keyIndexes = new int[entryCount];
+    int[] valueIndexes = new int[entryCount];
+    for (int i = 0; i < entryCount; i++) {
+      Map.Entry<byte[], String> entry = sortedEntries.get(i);
+      keys.add(entry.getKey());
+      keyIndexes[i] = pool.add(entry.getKey());
+      valueIndexes[i] = pool.add(entry.getValue().getBytes(StandardCharsets.UTF_8));
+    }
+
+    int[] seeds = null;
+    int[] slots = new int[entryCount];
+    if (perfectHash && entryCount > 0) {
+      seeds = buildPerfectHash(keys, slots);
+    }
+
+    // the runtime reader maps the file into a single buffer addressed by int offsets
+    long fileSize = BinaryI18nFormat.HEADER_SIZE + 4L * (2L * entryCount + pool.size() + 1)
+        + (seeds != null ? 4L * (1L + seeds.length + entryCount) : 0) + pool.byteCount;
+    if (fileSize > Integer.MAX_VALUE) {
+      throw new IOException("Binary i18n file of language '" + languageKey + "' exceeds the maximum size of "
+          + Integer.MAX_VALUE + " bytes: " + fileSize);
+    }
+
+    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+    out.writeInt(BinaryI18nFormat.MAGIC);
+    out.writeInt(BinaryI18nFormat.VERSION);
+    out.writeInt(seeds != null ? BinaryI18nFormat.FLAG_PERFECT_HASH : 0);
+    out.writeInt(entryCount);
+    out.writeInt(pool.size());
+    out.writeInt(languageIndex);
+    writeInts(out, keyIndexes);
+    writeInts(out, valueIndexes);
+    int offset = 0;
+    out.writeInt(offset);
+    for (byte[] string : pool.strings) {
+      offset += string.length;
+      out.writeInt(offset);
+    }
+    if (seeds != null) {
+      out.writeInt(seeds.length);
+      writeInts(out, seeds);
+      writeInts(out, slots);
+    }
+    for (byte[] string : pool.strings) {
+      out.write(string);
+    }
+    out.flush();
+    return seeds != null || !perfectHash || entryCount == 0;
+  }
+
+  private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+    for (int value : values) {
+      out.writeInt(value);
+    }
+  }
+
+  /**
+   * Builds a minimal perfect hash table for the keys using hash and displace: the keys are distributed to buckets,
+   * and starting with the largest bucket a seed is searched that hashes all keys of the bucket to free slots.
+   * Buckets with a single key are assigned to the remaining free slots directly.
+   * @param keys UTF-8 bytes of the keys
+   * @param slots Receives the entry index for each slot
+   * @return Seed for each bucket, or null if no perfect hash was found
+   */
+  private static int[] buildPerfectHash(List<byte[]> keys, int[] slots) {
+    int entryCount = keys.size();
+    int bucketCount = (entryCount + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET;
+    List<List<Integer>> buckets = new ArrayList<>(bucketCount);
+    for (int i = 0; i < bucketCount; i++) {
+      buckets.add(new ArrayList<>());
+    }
+    for (int i = 0; i < entryCount; i++) {
+      buckets.get(Integer.remainderUnsigned(BinaryI18nFormat.hash(keys.get(i), 0), bucketCount)).add(i);
+    }
+    Integer[] bucketOrder = new Integer[bucketCount];
+    for (int i = 0; i < bucketCount; i++) {
+      bucketOrder[i] = i;
+    }
+    Arrays.sort(bucketOrder, Comparator.comparingInt((Integer bucket) -> buckets.get(bucket).size()).reversed());
+
+    int[] seeds = new int[bucketCount];
+    Arrays.fill(slots, -1);
+    int nextFreeSlot = 0;
+    for (int bucket : bucketOrder) {
+      List<Integer> bucketEntries = buckets.get(bucket);
+      if (bucketEntries.size() > 1) {
+        int seed = findSeed(keys, bucketEntries, slots);
+        if (seed < 0) {
+          return null;
+        }
+        for (int entry : bucketEntries) {
+          slots[Integer.remainderUnsigned(BinaryI18nFormat.hash(keys.get(entry), seed), entryCount)] = entry;
+        }
+        seeds[bucket] = seed;
+      }
+      else if (bucketEntries.size() == 1) {
+        while (slots[nextFreeSlot] >= 0) {
+          nextFreeSlot++;
+        }
+        slots[nextFreeSlot] = bucketEntries.get(0);
+        seeds[bucket] = -nextFreeSlot - 1;
+      }
+    }
+    return seeds;
+  }
+
+  private static int findSeed(List<byte[]> keys, List<Integer> bucketEntries, int[] slots) {
+    int[] bucketSlots = new int[bucketEntries.size()];
+    for (int seed = 1; seed < MAX_SEED; seed++) {
+      boolean free = true;
+      for (int i = 0; i < bucketSlots.length && free; i++) {
+        int hash = BinaryI18nFormat.hash(keys.get(bucketEntries.get(i)), seed);
+        int slot = Integer.remainderUnsigned(hash, slots.length);
+        free = slots[slot] < 0;
+        for (int j = 0; j < i && free; j++) {
+          free = bucketSlots[j] != slot;
+        }
+        bucketSlots[i] = slot;
+      }
+      if (free) {
+        return seed;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Strings of keys and values, each distinct string is stored once.
+   */
+  private static final class StringPool {
+
+    private final Map<ByteBuffer, Integer> indexes = new HashMap<>();
+    private final List<byte[]> strings = new ArrayList<>();
+    private long byteCount;
+
+    int add(String value) {
+      return add(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    int add(byte[] bytes) {
+      return indexes.computeIfAbsent(ByteBuffer.wrap(bytes), key -> {
+        strings.add(bytes);
+        byteCount += bytes.length;
+        return strings.size() - 1;
+      });
+    }
+
+    int size() {
+      return strings.size();
+    }
+
+  }
+
+}
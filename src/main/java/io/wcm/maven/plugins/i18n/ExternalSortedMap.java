@@ -0,0 +1,636 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.UnaryOperator;
+
+import io.wcm.maven.plugins.i18n.readers.I18nEntrySink;
+import io.wcm.maven.plugins.i18n.readers.I18nReader;
+
+/**
+ * Read-only sorted map of i18n entries stored in a temporary file, for source files whose entries do not fit into
+ * the heap. The entries are read in runs of limited size, each run is sorted in memory and written to a temporary
+ * file, and the runs are merged into a single sorted file. A sparse index holds the key and file offset of every
+ * {@value #INDEX_INTERVAL}th entry. Iteration streams the entries from the file in blocks, the file is only open
+ * while a block is read. Lookups by key and range views seek to the nearest indexed entry, so the heap usage only
+ * depends on the size of the index. The temporary file has to be deleted with {@link #close()}.
+ */
+final class ExternalSortedMap extends AbstractMap<String, String> implements SortedMap<String, String>, Closeable {
+
+  /**
+   * Estimated heap usage of an entry in a tree map in addition to the characters of key and value.
+   */
+  private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+  /**
+   * Number of entries between two indexed entries, which is also the number of entries read from the file at once.
+   */
+  private static final int INDEX_INTERVAL = 256;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Storage storage;
+  private final String fromKey;
+  private final String toKey;
+  private final Set<Map.Entry<String, String>> entrySet = new EntrySet();
+  private volatile int rangeSize = -1;
+
+  /**
+   * @param storage Sorted entries
+   * @param fromKey Low endpoint (inclusive) of the range view, or null
+   * @param toKey High endpoint (exclusive) of the range view, or null
+   */
+  private ExternalSortedMap(Storage storage, String fromKey, String toKey) {
+    this.storage = storage;
+    this.fromKey = fromKey;
+    this.toKey = toKey;
+  }
+
+  /**
+   * Reads and sorts the i18n entries of a source file. If a key is defined more than once, the last value wins.
+   * @param reader I18n reader
+   * @param sourceFile Source file
+   * @param tempDirectory Directory for temporary files
+   * @param maxRunBytes Maximum estimated heap usage of the entries sorted in memory
+   * @return Sorted entries: a tree map if all entries fit into a single run, otherwise an external sorted map
+   * @throws IOException I/O exception
+   */
+  static SortedMap<String, String> sort(I18nReader reader, File sourceFile, File tempDirectory, long maxRunBytes)
+      throws IOException {
+    RunWriter runWriter = new RunWriter(tempDirectory, maxRunBytes);
+    try {
+      try {
+        reader.read(sourceFile, runWriter);
+      }
+      catch (UncheckedIOException ex) {
+        throw ex.getCause();
+      }
+      if (runWriter.runs.isEmpty()) {
+        return runWriter.run;
+      }
+      runWriter.writeRun();
+      return merge(runWriter.runs, tempDirectory, maxRunBytes);
+    }
+    finally {
+      for (Run run : runWriter.runs) {
+        Files.deleteIfExists(run.file.toPath());
+      }
+    }
+  }
+
+  /**
+   * Merges the sorted runs into a single file. For keys contained in multiple runs the value of the last run wins.
+   */
+  private static ExternalSortedMap merge(List<Run> runs, File tempDirectory, long maxRunBytes) throws IOException {
+    File file = File.createTempFile("i18n-sorted.", ".tmp", tempDirectory);
+    List<RunReader> readers = new ArrayList<>(runs.size());
+    boolean success = false;
+    try (DataOutputStream out = openOutput(file)) {
+      // equal keys are ordered by descending run index, so the value of the last run is taken first
+      PriorityQueue<RunReader> queue = new PriorityQueue<>(runs.size(),
+          Comparator.comparing((RunReader runReader) -> runReader.key).thenComparing(runReader -> -runReader.index));
+      for (int i = 0; i < runs.size(); i++) {
+        RunReader runReader = new RunReader(runs.get(i), i);
+        readers.add(runReader);
+        if (runReader.next()) {
+          queue.add(runReader);
+        }
+      }
+      int size = 0;
+      long offset = 0;
+      String lastKey = null;
+      List<String> indexKeys = new ArrayList<>();
+      List<Long> indexOffsets = new ArrayList<>();
+      while (!queue.isEmpty()) {
+        RunReader runReader = queue.poll();
+        lastKey = runReader.key;
+        if (size % INDEX_INTERVAL == 0) {
+          indexKeys.add(lastKey);
+          indexOffsets.add(offset);
+        }
+        offset += writeEntry(out, runReader.key, runReader.value);
+        size++;
+        advance(queue, runReader);
+        while (!queue.isEmpty() && queue.peek().key.equals(lastKey)) {
+          advance(queue, queue.poll());
+        }
+      }
+      success = true;
+      return new ExternalSortedMap(new Storage(file, size, lastKey, indexKeys, indexOffsets, tempDirectory,
+          maxRunBytes), null, null);
+    }
+    finally {
+      for (RunReader runReader : readers) {
+        runReader.in.close();
+      }
+      if (!success) {
+        Files.deleteIfExists(file.toPath());
+      }
+    }
+  }
+
+  private static void advance(PriorityQueue<RunReader> queue, RunReader runReader) throws IOException {
+    if (runReader.next()) {
+      queue.add(runReader);
+    }
+  }
+
+  /**
+   * Sorts the keys of this map converted with the given function on disk, with the same run size as this map.
+   * @param keyConverter Converts each key to the key of the sorted map
+   * @return Sorted converted keys mapped to an empty value, has to be closed if it is an external sorted map
+   * @throws IOException I/O exception
+   */
+  SortedMap<String, String> sortKeys(UnaryOperator<String> keyConverter) throws IOException {
+    I18nReader keyReader = (sourceFile, sink) -> {
+      for (String key : keySet()) {
+        sink.put(keyConverter.apply(key), "");
+      }
+    };
+    return sort(keyReader, storage.file, storage.tempDirectory, storage.maxRunBytes);
+  }
+
+  /**
+   * @param key Key
+   * @param value Value
+   * @return Estimated heap usage of an entry in a sorted map
+   */
+  static long estimateHeapBytes(String key, String value) {
+    return ENTRY_OVERHEAD_BYTES + 2L * (key.length() + value.length());
+  }
+
+  private static DataOutputStream openOutput(File file) throws IOException {
+    return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath()), BUFFER_SIZE));
+  }
+
+  private static DataInputStream openInput(File file) throws IOException {
+    return new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()), BUFFER_SIZE));
+  }
+
+  /**
+   * @return Number of bytes written
+   */
+  private static int writeEntry(DataOutputStream out, String key, String value) throws IOException {
+    return writeString(out, key) + writeString(out, value);
+  }
+
+  private static int writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+    return Integer.BYTES + bytes.length;
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public int size() {
+    if (fromKey == null && toKey == null) {
+      return storage.size;
+    }
+    int size = rangeSize;
+    if (size < 0) {
+      try {
+        size = rank(toKey, storage.size) - rank(fromKey, 0);
+      }
+      catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+      rangeSize = size;
+    }
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public String get(Object key) {
+    if (!(key instanceof String) || !inRange((String)key)) {
+      return null;
+    }
+    try {
+      Map.Entry<String, String> entry = seek((String)key).peek();
+      return entry != null && entry.getKey().equals(key) ? entry.getValue() : null;
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  @Override
+  public Set<Map.Entry<String, String>> entrySet() {
+    return entrySet;
+  }
+
+  @Override
+  public Comparator<? super String> comparator() {
+    return null;
+  }
+
+  @Override
+  public String firstKey() {
+    Iterator<Map.Entry<String, String>> iterator = entrySet.iterator();
+    if (!iterator.hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return iterator.next().getKey();
+  }
+
+  @Override
+  public String lastKey() {
+    if (toKey == null) {
+      if (storage.size == 0 || (fromKey != null && fromKey.compareTo(storage.lastKey) > 0)) {
+        throw new NoSuchElementException();
+      }
+      return storage.lastKey;
+    }
+    try {
+      int end = rank(toKey, storage.size);
+      if (end == 0 || end == rank(fromKey, 0)) {
+        throw new NoSuchElementException();
+      }
+      Cursor cursor = new Cursor((end - 1) / INDEX_INTERVAL);
+      while (cursor.ordinal < end - 1) {
+        cursor.next();
+      }
+      return cursor.peek().getKey();
+    }
+    catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+
+  /**
+   * Range views outside the range of this map are empty, instead of throwing an exception.
+   */
+  @Override
+  public SortedMap<String, String> subMap(String from, String to) {
+    if (from.compareTo(to) > 0) {
+      throw new IllegalArgumentException("fromKey > toKey");
+    }
+    String viewFromKey = max(fromKey, from);
+    String viewToKey = min(toKey, to);
+    if (viewToKey.compareTo(viewFromKey) < 0) {
+      viewToKey = viewFromKey;
+    }
+    return new ExternalSortedMap(storage, viewFromKey, viewToKey);
+  }
+
+  @Override
+  public SortedMap<String, String> headMap(String to) {
+    String viewToKey = min(toKey, to);
+    return new ExternalSortedMap(storage, fromKey, fromKey != null ? max(fromKey, viewToKey) : viewToKey);
+  }
+
+  @Override
+  public SortedMap<String, String> tailMap(String from) {
+    String viewFromKey = max(fromKey, from);
+    return new ExternalSortedMap(storage, viewFromKey, toKey != null ? max(viewFromKey, toKey) : null);
+  }
+
+  private static String min(String bound, String key) {
+    return bound != null && bound.compareTo(key) < 0 ? bound : key;
+  }
+
+  private static String max(String bound, String key) {
+    return bound != null && bound.compareTo(key) > 0 ? bound : key;
+  }
+
+  private boolean inRange(String key) {
+    return (fromKey == null || key.compareTo(fromKey) >= 0) && (toKey == null || key.compareTo(toKey) < 0);
+  }
+
+  /**
+   * @param key Key, or null
+   * @param defaultRank Rank if the key is null
+   * @return Number of entries with a key less than the given key
+   */
+  private int rank(String key, int defaultRank) throws IOException {
+    return key != null ? seek(key).ordinal : defaultRank;
+  }
+
+  /**
+   * @param key Key
+   * @return Cursor positioned at the first entry with a key not less than the given key
+   */
+  private Cursor seek(String key) throws IOException {
+    int block = Collections.binarySearch(storage.indexKeys, key);
+    if (block < 0) {
+      block = Math.max(-block - 2, 0);
+    }
+    Cursor cursor = new Cursor(block);
+    while (cursor.peek() != null && cursor.peek().getKey().compareTo(key) < 0) {
+      cursor.next();
+    }
+    return cursor;
+  }
+
+  /**
+   * Deletes the temporary file, which is shared by all range views of the map.
+   * @throws IOException I/O exception
+   */
+  @Override
+  public void close() throws IOException {
+    Files.deleteIfExists(storage.file.toPath());
+  }
+
+  /**
+   * Temporary file with the sorted entries and its sparse index.
+   */
+  private static final class Storage {
+
+    private final File file;
+    private final int size;
+    private final String lastKey;
+    private final List<String> indexKeys;
+    private final long[] indexOffsets;
+    private final File tempDirectory;
+    private final long maxRunBytes;
+
+    Storage(File file, int size, String lastKey, List<String> indexKeys, List<Long> indexOffsets,
+        File tempDirectory, long maxRunBytes) {
+      this.file = file;
+      this.size = size;
+      this.lastKey = lastKey;
+      this.indexKeys = indexKeys;
+      this.indexOffsets = indexOffsets.stream().mapToLong(Long::longValue).toArray();
+      this.tempDirectory = tempDirectory;
+      this.maxRunBytes = maxRunBytes;
+    }
+
+  }
+
+  /**
+   * Reads the entries of the temporary file sequentially in blocks of {@value #INDEX_INTERVAL} entries, starting at
+   * an indexed entry. The file is only open while a block is read, so a cursor that is not read to the end does not
+   * need to be closed.
+   */
+  private final class Cursor {
+
+    private final Deque<Map.Entry<String, String>> block = new ArrayDeque<>(INDEX_INTERVAL);
+    private int ordinal;
+    private int readOrdinal;
+    private long readOffset;
+
+    /**
+     * @param indexPosition Position of the indexed entry to start at
+     */
+    Cursor(int indexPosition) {
+      this.ordinal = indexPosition * INDEX_INTERVAL;
+      this.readOrdinal = ordinal;
+      this.readOffset = indexPosition < storage.indexOffsets.length ? storage.indexOffsets[indexPosition] : 0;
+    }
+
+    /**
+     * @return Current entry, or null after the last entry
+     */
+    Map.Entry<String, String> peek() throws IOException {
+      if (block.isEmpty() && readOrdinal < storage.size) {
+        readBlock();
+      }
+      return block.peekFirst();
+    }
+
+    void next() throws IOException {
+      if (peek() != null) {
+        block.removeFirst();
+        ordinal++;
+      }
+    }
+
+    private void readBlock() throws IOException {
+      int count = Math.min(INDEX_INTERVAL, storage.size - readOrdinal);
+      try (FileChannel channel = FileChannel.open(storage.file.toPath(), StandardOpenOption.READ)) {
+        channel.position(readOffset);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        for (int i = 0; i < count; i++) {
+          String key = readBlockString(in);
+          String value = readBlockString(in);
+          block.addLast(new AbstractMap.SimpleImmutableEntry<>(key, value));
+        }
+      }
+      readOrdinal += count;
+    }
+
+    private String readBlockString(DataInputStream in) throws IOException {
+      byte[] bytes = new byte[in.readInt()];
+      in.readFully(bytes);
+      readOffset += Integer.BYTES + bytes.length;
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+  }
+
+  /**
+   * Entries of the temporary file within the range of the map.
+   */
+  private final class EntrySet extends AbstractSet<Map.Entry<String, String>> {
+
+    @Override
+    public Iterator<Map.Entry<String, String>> iterator() {
+      try {
+        return new EntryIterator(fromKey != null ? seek(fromKey) : new Cursor(0));
+      }
+      catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+
+    @Override
+    public int size() {
+      return ExternalSortedMap.this.size();
+    }
+
+  }
+
+  /**
+   * Iterates the entries of a cursor up to the end of the range.
+   */
+  private final class EntryIterator implements Iterator<Map.Entry<String, String>> {
+
+    private final Cursor cursor;
+
+    EntryIterator(Cursor cursor) {
+      this.cursor = cursor;
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        Map.Entry<String, String> entry = cursor.peek();
+        return entry != null && (toKey == null || entry.getKey().compareTo(toKey) < 0);
+      }
+      catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+
+    @Override
+    public Map.Entry<String, String> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      try {
+        Map.Entry<String, String> entry = cursor.peek();
+        cursor.next();
+        return entry;
+      }
+      catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+
+  }
+
+  /**
+   * Collects the entries read from the source file in a tree map, which is written to a temporary file as sorted
+   * run when it reaches the maximum size.
+   */
+  private static final class RunWriter implements I18nEntrySink {
+
+    private final File tempDirectory;
+    private final long maxRunBytes;
+    private final List<Run> runs = new ArrayList<>();
+    private final TreeMap<String, String> run = new TreeMap<>();
+    private long runBytes;
+
+    RunWriter(File tempDirectory, long maxRunBytes) {
+      this.tempDirectory = tempDirectory;
+      this.maxRunBytes = maxRunBytes;
+    }
+
+    @Override
+    public void put(String key, String value) {
+      String previousValue = run.put(key, value);
+      if (previousValue == null) {
+        runBytes += estimateHeapBytes(key, value);
+      }
+      else {
+        runBytes += 2L * (value.length() - previousValue.length());
+      }
+      if (runBytes >= maxRunBytes) {
+        try {
+          writeRun();
+        }
+        catch (IOException ex) {
+          throw new UncheckedIOException(ex);
+        }
+      }
+    }
+
+    void writeRun() throws IOException {
+      File file = File.createTempFile("i18n-run.", ".tmp", tempDirectory);
+      runs.add(new Run(file, run.size()));
+      try (DataOutputStream out = openOutput(file)) {
+        for (Map.Entry<String, String> entry : run.entrySet()) {
+          writeEntry(out, entry.getKey(), entry.getValue());
+        }
+      }
+      run.clear();
+      runBytes = 0;
+    }
+
+  }
+
+  /**
+   * Sorted run in a temporary file.
+   */
+  private static final class Run {
+
+    private final File file;
+    private final int size;
+
+    Run(File file, int size) {
+      this.file = file;
+      this.size = size;
+    }
+
+  }
+
+  /**
+   * Reads the entries of a run during merging.
+   */
+  private static final class RunReader {
+
+    private final DataInputStream in;
+    private final int index;
+    private int remaining;
+    private String key;
+    private String value;
+
+    RunReader(Run run, int index) throws IOException {
+      this.in = openInput(run.file);
+      this.index = index;
+      this.remaining = run.size;
+    }
+
+    boolean next() throws IOException {
+      if (remaining == 0) {
+        return false;
+      }
+      remaining--;
+      key = readString(in);
+      value = readString(in);
+      return true;
+    }
+
+  }
+
+}
@@ -0,0 +1,220 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read-only view merging sorted i18n maps of a language and its fallback languages without copying them.
+ * For keys contained in multiple layers the value of the first layer wins. Iteration merges the sorted layers
+ * on the fly, so layers of shared fallback languages can be used by multiple views at the same time.
+ * The layers must not contain null keys or values, and must not be modified while the view is used.
+ */
+final class FallbackSortedMap extends AbstractMap<String, String> implements SortedMap<String, String> {
+
+  private final List<SortedMap<String, String>> layers;
+  private final Set<Map.Entry<String, String>> entrySet = new EntrySet();
+  private int size = -1;
+
+  /**
+   * @param layers Sorted maps with natural ordering, highest priority first
+   */
+  FallbackSortedMap(List<SortedMap<String, String>> layers) {
+    this.layers = layers;
+  }
+
+  @Override
+  public String get(Object key) {
+    for (SortedMap<String, String> layer : layers) {
+      String value = layer.get(key);
+      if (value != null) {
+        return value;
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public int size() {
+    if (size < 0) {
+      int count = 0;
+      Iterator<Map.Entry<String, String>> iterator = new MergeIterator();
+      while (iterator.hasNext()) {
+        iterator.next();
+        count++;
+      }
+      size = count;
+    }
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    for (SortedMap<String, String> layer : layers) {
+      if (!layer.isEmpty()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Set<Map.Entry<String, String>> entrySet() {
+    return entrySet;
+  }
+
+  @Override
+  public Comparator<? super String> comparator() {
+    return null;
+  }
+
+  @Override
+  public SortedMap<String, String> subMap(String fromKey, String toKey) {
+    return view(layer -> layer.subMap(fromKey, toKey));
+  }
+
+  @Override
+  public SortedMap<String, String> headMap(String toKey) {
+    return view(layer -> layer.headMap(toKey));
+  }
+
+  @Override
+  public SortedMap<String, String> tailMap(String fromKey) {
+    return view(layer -> layer.tailMap(fromKey));
+  }
+
+  private SortedMap<String, String> view(UnaryOperator<SortedMap<String, String>> function) {
+    List<SortedMap<String, String>> subLayers = new ArrayList<>(layers.size());
+    for (SortedMap<String, String> layer : layers) {
+      subLayers.add(function.apply(layer));
+    }
+    return new FallbackSortedMap(subLayers);
+  }
+
+  @Override
+  public String firstKey() {
+    String firstKey = null;
+    for (SortedMap<String, String> layer : layers) {
+      if (!layer.isEmpty() && (firstKey == null || layer.firstKey().compareTo(firstKey) < 0)) {
+        firstKey = layer.firstKey();
+      }
+    }
+    if (firstKey == null) {
+      throw new NoSuchElementException();
+    }
+    return firstKey;
+  }
+
+  @Override
+  public String lastKey() {
+    String lastKey = null;
+    for (SortedMap<String, String> layer : layers) {
+      if (!layer.isEmpty() && (lastKey == null || layer.lastKey().compareTo(lastKey) > 0)) {
+        lastKey = layer.lastKey();
+      }
+    }
+    if (lastKey == null) {
+      throw new NoSuchElementException();
+    }
+    return lastKey;
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<String, String>> {
+
+    @Override
+    public Iterator<Map.Entry<String, String>> iterator() {
+      return new MergeIterator();
+    }
+
+    @Override
+    public int size() {
+      return FallbackSortedMap.this.size();
+    }
+
+  }
+
+  /**
+   * Merges the sorted entries of all layers. The number of layers is small, so the next entry is found
+   * by comparing the current entries of all layers.
+   */
+  private final class MergeIterator implements Iterator<Map.Entry<String, String>> {
+
+    private final List<Iterator<Map.Entry<String, String>>> iterators = new ArrayList<>(layers.size());
+    private final List<Map.Entry<String, String>> heads = new ArrayList<>(layers.size());
+
+    MergeIterator() {
+      for (SortedMap<String, String> layer : layers) {
+        Iterator<Map.Entry<String, String>> iterator = layer.entrySet().iterator();
+        iterators.add(iterator);
+        heads.add(iterator.hasNext() ? iterator.next() : null);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      for (Map.Entry<String, String> head : heads) {
+        if (head != null) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    @Override
+    public Map.Entry<String, String> next() {
+      Map.Entry<String, String> next = null;
+      for (Map.Entry<String, String> head : heads) {
+        if (head != null && (next == null || head.getKey().compareTo(next.getKey()) < 0)) {
+          next = head;
+        }
+      }
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      // advance all layers containing the key
+      String key = next.getKey();
+      for (int i = 0; i < heads.size(); i++) {
+        Map.Entry<String, String> head = heads.get(i);
+        if (head != null && head.getKey().equals(key)) {
+          Iterator<Map.Entry<String, String>> iterator = iterators.get(i);
+          heads.set(i, iterator.hasNext() ? iterator.next() : null);
+        }
+      }
+      return new SimpleImmutableEntry<>(next);
+    }
+
+  }
+
+}
@@ -0,0 +1,309 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonGenerator;
+
+/**
+ * Key-level difference of the i18n entries of a language to the previous build, so deployments can apply only the
+ * changed messages. The previous build is represented by a digest file with the keys in sorted order and a hash of
+ * each value. The difference is computed by a merge join of the digest with the sorted entries, without loading the
+ * entries of the previous build or the difference into memory, and the digest of the current entries is written
+ * while joining.
+ * <p>
+ * The delta is written as JSON object with the properties <code>language</code>, <code>full</code>,
+ * <code>added</code> and <code>changed</code> (objects with the new key/value pairs) and <code>removed</code>
+ * (array of keys). If no digest of a previous build exists, all entries are listed as added and <code>full</code>
+ * is true.
+ * </p>
+ */
+final class I18nDelta {
+
+  static final int MAGIC = 0x49313844;
+  static final int VERSION = 1;
+
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private I18nDelta() {
+    // static methods only
+  }
+
+  /**
+   * Writes the delta of the entries to the previous build, and the digest of the entries. The added, changed and
+   * removed entries are each written in a separate merge join of the entries with the previous digest, so they are
+   * streamed to the delta without collecting them in memory.
+   * @param languageKey Language key
+   * @param entries I18n entries, iterated in sorted order
+   * @param previousDigestFile Digest file of the previous build, may not exist
+   * @param deltaOutputStream Output stream for the delta
+   * @param digestOutputStream Output stream for the digest of the entries
+   * @param prettyPrint Pretty print JSON, otherwise it is written without whitespace
+   * @throws IOException I/O exception
+   */
+  static void write(String languageKey, Map<String, String> entries, File previousDigestFile,
+      OutputStream deltaOutputStream, OutputStream digestOutputStream, boolean prettyPrint) throws IOException {
+    boolean full;
+    try (DigestReader previous = DigestReader.open(previousDigestFile)) {
+      full = previous == null;
+    }
+    MessageDigest messageDigest = createMessageDigest();
+    DataOutputStream digestOut = new DataOutputStream(new BufferedOutputStream(digestOutputStream, BUFFER_SIZE));
+    digestOut.writeInt(MAGIC);
+    digestOut.writeInt(VERSION);
+    digestOut.writeInt(entries.size());
+
+    try (JsonGenerator generator = JsonUtil.createGenerator(deltaOutputStream, prettyPrint)) {
+      generator.writeStartObject();
+      generator.write("language", languageKey);
+      generator.write("full", full);
+
+      generator.writeStartObject("added");
+      if (full) {
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+          generator.write(entry.getKey(), entry.getValue());
+          writeDigestEntry(digestOut, messageDigest, entry);
+        }
+      }
+      else {
+        mergeJoin(entries, previousDigestFile, new JoinHandler() {
+          @Override
+          public void added(Map.Entry<String, String> entry) {
+            generator.write(entry.getKey(), entry.getValue());
+          }
+        });
+      }
+      generator.writeEnd();
+
+      // the digest is written while joining the changed entries, which requires the hash of each value
+      generator.writeStartObject("changed");
+      if (!full) {
+        mergeJoin(entries, previousDigestFile, new JoinHandler() {
+          @Override
+          public void added(Map.Entry<String, String> entry) throws IOException {
+            writeDigestEntry(digestOut, messageDigest, entry);
+          }
+
+          @Override
+          public void matched(Map.Entry<String, String> entry, long previousValueHash) throws IOException {
+            if (writeDigestEntry(digestOut, messageDigest, entry) != previousValueHash) {
+              generator.write(entry.getKey(), entry.getValue());
+            }
+          }
+        });
+      }
+      generator.writeEnd();
+
+      generator.writeStartArray("removed");
+      if (!full) {
+        mergeJoin(entries, previousDigestFile, new JoinHandler() {
+          @Override
+          public void removed(String key) {
+            generator.write(key);
+          }
+        });
+      }
+      generator.writeEnd();
+      generator.writeEnd();
+    }
+    catch (JsonException ex) {
+      throw new IOException(ex.getMessage(), ex);
+    }
+    digestOut.flush();
+  }
+
+  /**
+   * Writes an empty delta, for languages whose source file did not change since the previous build.
+   * @param languageKey Language key
+   * @param deltaOutputStream Output stream for the delta
+   * @param prettyPrint Pretty print JSON, otherwise it is written without whitespace
+   * @throws IOException I/O exception
+   */
+  static void writeUnchanged(String languageKey, OutputStream deltaOutputStream, boolean prettyPrint)
+      throws IOException {
+    try (JsonGenerator generator = JsonUtil.createGenerator(deltaOutputStream, prettyPrint)) {
+      generator.writeStartObject();
+      generator.write("language", languageKey);
+      generator.write("full", false);
+      generator.writeStartObject("added").writeEnd();
+      generator.writeStartObject("changed").writeEnd();
+      generator.writeStartArray("removed").writeEnd();
+      generator.writeEnd();
+    }
+    catch (JsonException ex) {
+      throw new IOException(ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Merge join of the sorted entries with the sorted keys of the previous digest.
+   * @param entries I18n entries, iterated in sorted order
+   * @param previousDigestFile Digest file of the previous build
+   * @param handler Receives the entries that were added or exist in both, and the keys that were removed
+   */
+  private static void mergeJoin(Map<String, String> entries, File previousDigestFile, JoinHandler handler)
+      throws IOException {
+    try (DigestReader previous = DigestReader.open(previousDigestFile)) {
+      for (Map.Entry<String, String> entry : entries.entrySet()) {
+        // keys of the previous build sorted before the current key were removed
+        while (previous.key != null && previous.key.compareTo(entry.getKey()) < 0) {
+          handler.removed(previous.key);
+          previous.next();
+        }
+        if (previous.key != null && previous.key.equals(entry.getKey())) {
+          handler.matched(entry, previous.valueHash);
+          previous.next();
+        }
+        else {
+          handler.added(entry);
+        }
+      }
+      while (previous.key != null) {
+        handler.removed(previous.key);
+        previous.next();
+      }
+    }
+  }
+
+  /**
+   * Writes the key and value hash of an entry to the digest.
+   * @return Value hash
+   */
+  private static long writeDigestEntry(DataOutputStream digestOut, MessageDigest messageDigest,
+      Map.Entry<String, String> entry) throws IOException {
+    byte[] key = entry.getKey().getBytes(StandardCharsets.UTF_8);
+    long valueHash = hash(messageDigest, entry.getValue());
+    digestOut.writeInt(key.length);
+    digestOut.write(key);
+    digestOut.writeLong(valueHash);
+    return valueHash;
+  }
+
+  private static MessageDigest createMessageDigest() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    }
+    catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("Hash algorithm not supported: " + HASH_ALGORITHM, ex);
+    }
+  }
+
+  /**
+   * @param messageDigest Message digest
+   * @param value I18n value
+   * @return First 64 bits of the hash of the value
+   */
+  private static long hash(MessageDigest messageDigest, String value) {
+    return ByteBuffer.wrap(messageDigest.digest(value.getBytes(StandardCharsets.UTF_8))).getLong();
+  }
+
+  /**
+   * Receives the results of a merge join, see {@link #mergeJoin(Map, File, JoinHandler)}.
+   */
+  private interface JoinHandler {
+
+    default void added(Map.Entry<String, String> entry) throws IOException {
+      // ignore
+    }
+
+    default void matched(Map.Entry<String, String> entry, long previousValueHash) throws IOException {
+      // ignore
+    }
+
+    default void removed(String key) throws IOException {
+      // ignore
+    }
+
+  }
+
+  /**
+   * Reads the keys and value hashes of a digest file sequentially.
+   */
+  private static final class DigestReader implements AutoCloseable {
+
+    private final DataInputStream in;
+    private int remaining;
+    private String key;
+    private long valueHash;
+
+    private DigestReader(DataInputStream in, int size) throws IOException {
+      this.in = in;
+      this.remaining = size;
+      next();
+    }
+
+    /**
+     * @param file Digest file
+     * @return Reader positioned at the first key, or null if the file does not exist or has an unsupported format
+     */
+    static DigestReader open(File file) throws IOException {
+      if (!file.exists()) {
+        return null;
+      }
+      DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()),
+          BUFFER_SIZE));
+      try {
+        if (file.length() < 12 || in.readInt() != MAGIC || in.readInt() != VERSION) {
+          in.close();
+          return null;
+        }
+        return new DigestReader(in, in.readInt());
+      }
+      catch (IOException ex) {
+        in.close();
+        throw ex;
+      }
+    }
+
+    void next() throws IOException {
+      if (remaining == 0) {
+        key = null;
+        return;
+      }
+      remaining--;
+      byte[] keyBytes = new byte[in.readInt()];
+      in.readFully(keyBytes);
+      key = new String(keyBytes, StandardCharsets.UTF_8);
+      valueHash = in.readLong();
+    }
+
+    @Override
+    public void close() throws IOException {
+      in.close();
+    }
+
+  }
+
+}
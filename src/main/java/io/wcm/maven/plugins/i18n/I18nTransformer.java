@@ -0,0 +1,1473 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.apache.commons.io.output.TeeOutputStream;
+import org.apache.commons.io.output.ThresholdingOutputStream;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.model.Build;
+import org.apache.maven.model.Resource;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.Scanner;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+import io.wcm.maven.plugins.i18n.readers.I18nReader;
+import io.wcm.maven.plugins.i18n.readers.JsonI18nReader;
+import io.wcm.maven.plugins.i18n.readers.PropertiesI18nReader;
+import io.wcm.maven.plugins.i18n.readers.XmlI18nReader;
+
+/**
+ * Transforms the i18n source files of a single project. The source files are discovered by {@link #prepare()},
+ * transformed one by one via {@link #transformFile(File)} or the stages {@link #read(File, InFlightBudget)},
+ * {@link #serialize(TransformJob)} and {@link #write(TransformJob)} - possibly in parallel and interleaved with the
+ * files of other projects - and the cache and report are written by {@link #finish(int)}.
+ */
+final class I18nTransformer {
+
+  // file extensions
+  private static final String FILE_EXTENSION_JSON = "json";
+  private static final String FILE_EXTENSION_XML = "xml";
+  private static final String FILE_EXTENSION_PROPERTIES = "properties";
+
+  private static final String ALL_FILES = "**/*.";
+  private static final String[] SOURCE_FILES_INCLUDES = new String[] {
+      ALL_FILES + FILE_EXTENSION_PROPERTIES,
+      ALL_FILES + FILE_EXTENSION_XML,
+      ALL_FILES + FILE_EXTENSION_JSON
+  };
+
+  private static final int GZIP_BUFFER_SIZE = 8192;
+
+  /**
+   * Maximum size of the serialized content of a target file that is kept in memory until the target file is written.
+   * Larger content is streamed to a temporary file.
+   */
+  private static final int MAX_IN_MEMORY_CONTENT_BYTES = 1024 * 1024;
+
+  /**
+   * Estimated heap usage of the parsed entries per byte of a source file, used to admit source files to the
+   * transform pipeline before they are read.
+   */
+  private static final int PARSED_BYTES_PER_SOURCE_BYTE = 3;
+
+  private final AbstractTransformMojo mojo;
+  private final MavenProject project;
+  private final File sourceDirectory;
+  private final File buildDirectory;
+  private final List<OutputTarget> outputTargets;
+  private final BuildContext buildContext;
+  private final Log log;
+  private TransformReport transformReport;
+
+  private List<File> changedSourceFiles;
+  private List<File> deletedSourceFiles;
+  private List<File> i18nSourceFiles;
+  private List<File> sourceFiles;
+  private TransformCache transformCache;
+  private Map<String, List<File>> sourceFilesByLanguagePath;
+  private LanguageFallback languageFallback;
+  private final Map<OutputTarget, File> generatedResourcesFolders = new HashMap<>();
+  private final Map<File, String> sourceHashes = new ConcurrentHashMap<>();
+  private final Map<File, SourceEntries> sourceEntries = new ConcurrentHashMap<>();
+
+  /**
+   * @param mojo Mojo providing the configuration
+   * @param project Project the generated resources are added to
+   * @param sourceDirectory Canonical directory containing the i18n source files
+   * @param buildDirectory Directory containing the generated resources, cache and report
+   * @param outputTargets Output targets
+   */
+  I18nTransformer(AbstractTransformMojo mojo, MavenProject project, File sourceDirectory, File buildDirectory,
+      List<OutputTarget> outputTargets) {
+    this.mojo = mojo;
+    this.project = project;
+    this.sourceDirectory = sourceDirectory;
+    this.buildDirectory = buildDirectory;
+    this.outputTargets = outputTargets;
+    this.buildContext = mojo.getBuildContext();
+    this.log = mojo.getLog();
+  }
+
+  private static List<String> getOutputFormatNames(List<OutputTarget> outputTargets) {
+    List<String> names = new ArrayList<>(outputTargets.size());
+    for (OutputTarget outputTarget : outputTargets) {
+      names.add(outputTarget.getFormat().name());
+    }
+    return names;
+  }
+
+  MavenProject getProject() {
+    return this.project;
+  }
+
+  /**
+   * Restricts the transformation to the given changed and deleted source files, like in an incremental build.
+   * @param changed Changed or created source files
+   * @param deleted Deleted source files
+   */
+  void setChanges(List<File> changed, List<File> deleted) {
+    this.changedSourceFiles = changed;
+    this.deletedSourceFiles = deleted;
+  }
+
+  private boolean isIncremental() {
+    return changedSourceFiles != null || mojo.isIncrementalBuild();
+  }
+
+  /**
+   * Adds the generated resources to the project, loads the cache and discovers the source files to transform.
+   * @return Source files to transform
+   * @throws IOException I/O exception
+   * @throws MojoFailureException if a delta is requested for a language with multiple source files
+   */
+  List<File> prepare() throws IOException, MojoFailureException {
+    transformReport = new TransformReport(mojo.getExecutionId(), getOutputFormatNames(outputTargets), isIncremental());
+    intialize();
+    if (mojo.isDelta()) {
+      validateSingleSourceFilePerLanguage();
+    }
+    if (mojo.isMergeFallbackLanguages()) {
+      languageFallback = new LanguageFallback(getI18nSourceFiles(), mojo.getFallbackLanguage());
+    }
+
+    if (isIncremental()) {
+      // in incremental build only process the source files that were changed or deleted
+      if (changedSourceFiles == null) {
+        changedSourceFiles = getChangedI18nSourceFiles();
+        deletedSourceFiles = getDeletedI18nSourceFiles();
+      }
+      deleteTargetFiles(deletedSourceFiles);
+      sourceFiles = getAffectedI18nSourceFiles(changedSourceFiles, deletedSourceFiles);
+      if (mojo.isDelta()) {
+        writeUnchangedDeltaFiles(sourceFiles);
+      }
+    }
+    else {
+      sourceFiles = getI18nSourceFiles();
+      if (mojo.isDelta()) {
+        deleteObsoleteDeltaFiles();
+      }
+    }
+    if (languageFallback != null) {
+      prepareSharedSourceEntries(sourceFiles);
+    }
+    transformReport.discoveryDone();
+    return sourceFiles;
+  }
+
+  /**
+   * Collects the result of a transformed source file. Has to be called in the order of the source files.
+   * @param result Transform result
+   */
+  void addResult(TransformResult result) {
+    log.debug(result.message);
+    transformReport.add(result.statistics);
+  }
+
+  /**
+   * Saves the cache and writes the report after all source files are transformed.
+   * @param threadCount Number of threads used for transformation
+   * @return Summary of the transformation, or null if no source files were transformed
+   * @throws IOException I/O exception
+   */
+  String finish(int threadCount) throws IOException {
+    transformReport.setThreadCount(threadCount);
+    transformReport.done();
+
+    if (transformCache != null) {
+      if (!isIncremental()) {
+        transformCache.retain(getSourcePaths(sourceFiles));
+      }
+      transformCache.save();
+    }
+
+    if (!transformReport.hasFiles()) {
+      return null;
+    }
+    if (mojo.isReport()) {
+      File reportFile = new File(buildDirectory,
+          "i18n-maven-plugin/" + mojo.getExecutionId() + "-report.json");
+      transformReport.write(reportFile);
+      log.debug("Written report: " + reportFile.getPath());
+    }
+    return transformReport.getSummary();
+  }
+
+  /**
+   * Transforms a single source file by running all stages of the transformation on the current thread.
+   * The source file is parsed only once and written to all output targets.
+   * @param file Source file
+   * @return Transform result
+   * @throws MojoFailureException Transformation failed
+   */
+  TransformResult transformFile(File file) throws MojoFailureException {
+    return write(serialize(read(file, null)));
+  }
+
+  /**
+   * First stage of the transformation: parses the source file into the sorted i18n map. Source files that did not
+   * change since the previous build are skipped, their job already contains the result.
+   * @param file Source file
+   * @param budget In-flight budget the entries of fallback languages retained for other languages are counted
+   *          against, or null
+   * @return Job passed to {@link #serialize(TransformJob)}
+   * @throws MojoFailureException Transformation failed
+   */
+  TransformJob read(File file, InFlightBudget budget) throws MojoFailureException {
+    try {
+      TransformJob job = new TransformJob(file, new TransformReport.FileStatistics(getSourcePath(file)));
+      boolean targetFilesExist = true;
+      for (OutputTarget outputTarget : outputTargets) {
+        File targetFile = getTargetFile(file, outputTarget);
+        job.targetFiles.add(targetFile);
+        targetFilesExist = targetFilesExist && targetFile.exists()
+            && (!mojo.isGzip() || getGzipFile(targetFile).exists());
+      }
+      targetFilesExist = targetFilesExist && (!mojo.isDelta() || getDigestFile(file).exists());
+
+      // skip source files that did not change since previous build
+      if (transformCache != null) {
+        job.hash = getCombinedSourceHash(file);
+        if (!isIncremental() && targetFilesExist
+            && transformCache.isUpToDate(job.statistics.getSourcePath(), job.hash)) {
+          job.result = new TransformResult("Skipped unchanged " + file.getPath(),
+              job.statistics.done(TransformStatus.SOURCE_UNCHANGED));
+          if (mojo.isDelta()) {
+            job.deltaContents.add(serializeUnchangedDelta(job.file));
+          }
+          return job;
+        }
+      }
+
+      // transform i18n files
+      long readStartNanos = System.nanoTime();
+      String languageKey = FileUtils.removeExtension(file.getName());
+      if (languageFallback != null) {
+        List<SortedMap<String, String>> layers = new ArrayList<>();
+        for (File layerFile : getLayerFiles(file)) {
+          layers.add(getSourceEntries(layerFile, budget));
+        }
+        job.i18nMap = SlingI18nMap.merge(languageKey, layers);
+      }
+      else if (isExternalSort(file)) {
+        job.i18nMap = SlingI18nMap.readExternal(languageKey, getI18nReader(file, 0), file, getTempDirectory(),
+            getExternalSortRunBytes());
+      }
+      else {
+        long parallelThreshold = mojo.getParallelParseThreshold();
+        I18nReader reader = getI18nReader(file, parallelThreshold);
+        job.i18nMap = SlingI18nMap.read(languageKey, reader, file, isParallelParse(file, parallelThreshold));
+      }
+      job.statistics.read(System.nanoTime() - readStartNanos, file.length(), job.i18nMap.size());
+      job.statistics.pause();
+      return job;
+    }
+    catch (IOException ex) {
+      throw new MojoFailureException("Unable to transform i18n resource: " + file.getPath(), ex);
+    }
+    catch (UncheckedIOException ex) {
+      throw new MojoFailureException("Unable to transform i18n resource: " + file.getPath(), ex.getCause());
+    }
+    catch (RuntimeException ex) {
+      // invalid content is reported by the readers as I/O exception, but parsers may fail with runtime exceptions
+      // as well - this is a failure of the source file, not of the build, e.g. the watch goal keeps watching
+      throw new MojoFailureException("Unable to transform i18n resource: " + file.getPath(), ex);
+    }
+    finally {
+      if (languageFallback != null) {
+        releaseSourceEntries(file);
+      }
+    }
+  }
+
+  /**
+   * Second stage of the transformation: serializes the i18n map to the content of all target files, small content
+   * is kept in memory and larger content is streamed to temporary files. The i18n map is released afterwards.
+   * @param job Job returned by {@link #read(File, InFlightBudget)}
+   * @return Job passed to {@link #write(TransformJob)}
+   * @throws MojoFailureException Transformation failed
+   */
+  TransformJob serialize(TransformJob job) throws MojoFailureException {
+    if (job.result != null) {
+      return job;
+    }
+    job.statistics.resume();
+    try {
+      try {
+        for (int i = 0; i < outputTargets.size(); i++) {
+          OutputContent output = new OutputContent(job.targetFiles.get(i));
+          job.outputContents.add(output);
+          serializeOutput(job.i18nMap, output, outputTargets.get(i).getFormat(), job.statistics);
+        }
+        if (mojo.isDelta()) {
+          serializeDelta(job);
+        }
+      }
+      catch (IOException | RuntimeException ex) {
+        job.deleteTempFiles();
+        throw ex;
+      }
+      finally {
+        job.i18nMap.deleteTempFiles();
+        job.i18nMap = null;
+      }
+      job.statistics.pause();
+      return job;
+    }
+    catch (IOException ex) {
+      throw new MojoFailureException("Unable to transform i18n resource: " + job.file.getPath(), ex);
+    }
+    catch (UncheckedIOException ex) {
+      // reading entries sorted on disk
+      throw new MojoFailureException("Unable to transform i18n resource: " + job.file.getPath(), ex.getCause());
+    }
+  }
+
+  /**
+   * Last stage of the transformation: replaces the target files whose content has changed. The delta and digest
+   * files are written after the target files, so a failed build leaves the digest of the previous build.
+   * @param job Job returned by {@link #serialize(TransformJob)}
+   * @return Transform result
+   * @throws MojoFailureException Transformation failed
+   */
+  TransformResult write(TransformJob job) throws MojoFailureException {
+    if (job.result != null) {
+      try {
+        writeDelta(job);
+      }
+      catch (IOException ex) {
+        throw new MojoFailureException("Unable to transform i18n resource: " + job.file.getPath(), ex);
+      }
+      return job.result;
+    }
+    job.statistics.resume();
+    try {
+      long writeStartNanos = System.nanoTime();
+      StringBuilder message = new StringBuilder("Transformed ").append(job.file.getPath()).append(" to  ");
+      int unchangedTargetFileCount = 0;
+      try {
+        for (int i = 0; i < job.outputContents.size(); i++) {
+          OutputContent output = job.outputContents.get(i);
+          createParentDirectory(output.targetFile);
+          boolean written = writeOutput(output, job.statistics);
+          if (i > 0) {
+            message.append(", ");
+          }
+          message.append(output.targetFile.getPath());
+          if (!written) {
+            message.append(" (unchanged)");
+            unchangedTargetFileCount++;
+          }
+        }
+        writeDelta(job);
+      }
+      finally {
+        job.deleteTempFiles();
+        job.outputContents.clear();
+        job.deltaContents.clear();
+      }
+      job.statistics.write(System.nanoTime() - writeStartNanos);
+
+      if (transformCache != null) {
+        transformCache.put(job.statistics.getSourcePath(), job.hash);
+      }
+
+      TransformStatus status = unchangedTargetFileCount == outputTargets.size()
+          ? TransformStatus.OUTPUT_UNCHANGED : TransformStatus.TRANSFORMED;
+      return new TransformResult(message.toString(), job.statistics.done(status));
+    }
+    catch (IOException ex) {
+      throw new MojoFailureException("Unable to transform i18n resource: " + job.file.getPath(), ex);
+    }
+  }
+
+  /**
+   * Source files of the same language write the same target files, where the source file transformed last wins.
+   * So the hashes of all of them are included, and a source file is only skipped if none of them has changed.
+   * @param file Source file
+   * @return Content hash of the source file, combined with the hashes of the other source files of the same language,
+   *         and of its fallback language source files when merging fallback languages
+   */
+  private String getCombinedSourceHash(File file) throws IOException {
+    StringBuilder combinedHash = new StringBuilder(getSourceHash(file));
+    for (File languageSourceFile : sourceFilesByLanguagePath.get(LanguageFallback.getLanguagePath(file))) {
+      if (!languageSourceFile.equals(file)) {
+        appendSourceHash(combinedHash, languageSourceFile);
+      }
+    }
+    if (languageFallback != null) {
+      for (File fallbackSourceFile : languageFallback.getFallbackSourceFiles(file)) {
+        appendSourceHash(combinedHash, fallbackSourceFile);
+      }
+    }
+    return combinedHash.toString();
+  }
+
+  private void appendSourceHash(StringBuilder combinedHash, File file) throws IOException {
+    combinedHash.append(';').append(getSourcePath(file)).append('=').append(getSourceHash(file));
+  }
+
+  /**
+   * Source files of fallback languages are used by multiple languages, so their hashes are only calculated once.
+   * @param file Source file
+   * @return Content hash of the source file
+   */
+  private String getSourceHash(File file) throws IOException {
+    String hash = sourceHashes.get(file);
+    if (hash == null) {
+      hash = TransformCache.hash(file);
+      sourceHashes.put(file, hash);
+    }
+    return hash;
+  }
+
+  /**
+   * @param file Source file
+   * @return Source files merged into the i18n map of the source file: the source file itself and the source files of
+   *         its fallback languages, nearest fallback language first
+   */
+  private List<File> getLayerFiles(File file) {
+    List<File> layerFiles = new ArrayList<>();
+    layerFiles.add(file);
+    layerFiles.addAll(languageFallback.getFallbackSourceFiles(file));
+    return layerFiles;
+  }
+
+  /**
+   * Counts the source files to transform that use each source file as layer. Only source files used by more than
+   * one of them - the source files of fallback languages - keep their parsed entries between transformations.
+   * @param files Source files to transform
+   */
+  private void prepareSharedSourceEntries(List<File> files) {
+    Map<File, Integer> dependentCounts = new HashMap<>();
+    for (File file : files) {
+      for (File layerFile : getLayerFiles(file)) {
+        dependentCounts.merge(layerFile, 1, Integer::sum);
+      }
+    }
+    for (Map.Entry<File, Integer> entry : dependentCounts.entrySet()) {
+      if (entry.getValue() > 1) {
+        sourceEntries.put(entry.getKey(), new SourceEntries(entry.getKey(), entry.getValue()));
+      }
+    }
+  }
+
+  /**
+   * Source files of fallback languages are used by multiple languages, so they are only parsed once
+   * and the sorted entries are shared until the last language using them is read.
+   * @param file Source file
+   * @param budget In-flight budget the shared entries are counted against, or null
+   * @return Sorted i18n entries of the source file
+   */
+  private SortedMap<String, String> getSourceEntries(File file, InFlightBudget budget)
+      throws IOException, MojoFailureException {
+    SourceEntries shared = sourceEntries.get(file);
+    if (shared == null) {
+      return readSourceEntries(file);
+    }
+    return shared.get(budget);
+  }
+
+  /**
+   * Releases the shared entries of the layers of a source file that was read or skipped, the entries of a layer
+   * are released after the last source file using it.
+   * @param file Source file
+   */
+  private void releaseSourceEntries(File file) {
+    for (File layerFile : getLayerFiles(file)) {
+      SourceEntries shared = sourceEntries.get(layerFile);
+      if (shared != null && shared.release()) {
+        sourceEntries.remove(layerFile);
+      }
+    }
+  }
+
+  private SortedMap<String, String> readSourceEntries(File file) throws IOException, MojoFailureException {
+    long parallelThreshold = mojo.getParallelParseThreshold();
+    return SlingI18nMap.readEntries(getI18nReader(file, parallelThreshold), file,
+        isParallelParse(file, parallelThreshold));
+  }
+
+  private static boolean isParallelParse(File file, long parallelThreshold) {
+    return PropertiesI18nReader.isParallel(file.length(), parallelThreshold);
+  }
+
+  /**
+   * Source files above the external sort threshold are sorted on disk, and so are source files whose parsed entries
+   * would not fit into the in-flight budget.
+   * @param file Source file
+   * @return true if the entries of the source file are sorted on disk
+   */
+  private boolean isExternalSort(File file) {
+    long externalSortThreshold = mojo.getExternalSortThreshold();
+    return externalSortThreshold > 0 && (file.length() >= externalSortThreshold
+        || file.length() * PARSED_BYTES_PER_SOURCE_BYTE > mojo.getMaxInFlightBytes());
+  }
+
+  private long getExternalSortRunBytes() {
+    return Math.min(mojo.getExternalSortRunBytes(), mojo.getMaxInFlightBytes());
+  }
+
+  /**
+   * Estimates the heap usage of a source file while it is read, before it is parsed: the estimated size of its
+   * parsed entries, or the size of a run if the entries are sorted on disk.
+   * @param file Source file
+   * @return Estimated number of bytes
+   */
+  long estimateReadBytes(File file) {
+    if (languageFallback == null && isExternalSort(file)) {
+      return getExternalSortRunBytes();
+    }
+    return file.length() * PARSED_BYTES_PER_SOURCE_BYTE;
+  }
+
+  /**
+   * Serializes the delta of the i18n map to the digest of the previous build, and the digest of the i18n map.
+   * @param job Job with the i18n map
+   */
+  private void serializeDelta(TransformJob job) throws IOException {
+    File digestFile = getDigestFile(job.file);
+    TargetContent delta = new TargetContent(getDeltaFile(job.file));
+    job.deltaContents.add(delta);
+    TargetContent digest = new TargetContent(digestFile);
+    job.deltaContents.add(digest);
+    try (OutputStream deltaOutputStream = delta.openOutputStream();
+        OutputStream digestOutputStream = digest.openOutputStream()) {
+      job.i18nMap.writeDelta(digestFile, deltaOutputStream, digestOutputStream, mojo.isPrettyPrint());
+    }
+  }
+
+  /**
+   * Serializes an empty delta for a source file that did not change since the previous build.
+   * @param sourceFile Source file
+   * @return Content of the delta file
+   */
+  private TargetContent serializeUnchangedDelta(File sourceFile) throws IOException {
+    TargetContent delta = new TargetContent(getDeltaFile(sourceFile));
+    try (OutputStream deltaOutputStream = delta.openOutputStream()) {
+      I18nDelta.writeUnchanged(FileUtils.removeExtension(sourceFile.getName()), deltaOutputStream,
+          mojo.isPrettyPrint());
+    }
+    return delta;
+  }
+
+  /**
+   * In incremental builds the delta files of the source files that are not transformed are replaced with an empty
+   * delta, so a deployment does not apply the delta of a previous build again. Delta files of source files without
+   * digest are deleted, as there is no previous build to compare with.
+   * @param transformedSourceFiles Source files transformed in this build
+   */
+  private void writeUnchangedDeltaFiles(List<File> transformedSourceFiles) throws IOException {
+    // source files of the same language with different file extensions share the delta file
+    Set<File> transformedDeltaFiles = new HashSet<>();
+    for (File sourceFile : transformedSourceFiles) {
+      transformedDeltaFiles.add(getDeltaFile(sourceFile));
+    }
+    for (File sourceFile : getI18nSourceFiles()) {
+      File deltaFile = getDeltaFile(sourceFile);
+      if (transformedDeltaFiles.contains(deltaFile)) {
+        continue;
+      }
+      if (getDigestFile(sourceFile).exists()) {
+        TargetContent delta = serializeUnchangedDelta(sourceFile);
+        createParentDirectory(deltaFile);
+        replaceTargetFile(delta);
+      }
+      else {
+        deleteTargetFile(deltaFile);
+      }
+    }
+  }
+
+  /**
+   * Writes the delta and digest files of a job, in this order.
+   * @param job Job
+   */
+  private void writeDelta(TransformJob job) throws IOException {
+    for (TargetContent content : job.deltaContents) {
+      createParentDirectory(content.file);
+      replaceTargetFile(content);
+    }
+  }
+
+  /**
+   * @param sourceFile Source file
+   * @return File containing the key-level delta of the source file to the previous build
+   */
+  private File getDeltaFile(File sourceFile) {
+    return new File(getDeltaDirectory(), FileUtils.removeExtension(getSourcePath(sourceFile)) + ".json");
+  }
+
+  /**
+   * @param sourceFile Source file
+   * @return File containing the sorted keys and value hashes of the source file of the previous build
+   */
+  private File getDigestFile(File sourceFile) {
+    return new File(getDigestDirectory(), FileUtils.removeExtension(getSourcePath(sourceFile)) + ".digest");
+  }
+
+  private File getDeltaDirectory() {
+    return new File(buildDirectory, "i18n-maven-plugin/" + mojo.getExecutionId() + "-delta");
+  }
+
+  private File getDigestDirectory() {
+    return new File(buildDirectory, "i18n-maven-plugin/" + mojo.getExecutionId() + "-digest");
+  }
+
+  /**
+   * Deletes delta and digest files of source files that no longer exist, so the deployment does not apply a
+   * delta of a previous build again.
+   */
+  private void deleteObsoleteDeltaFiles() throws IOException {
+    Set<File> deltaFiles = new HashSet<>();
+    for (File sourceFile : getI18nSourceFiles()) {
+      deltaFiles.add(getDeltaFile(sourceFile));
+      deltaFiles.add(getDigestFile(sourceFile));
+    }
+    for (File directory : new File[] { getDeltaDirectory(), getDigestDirectory() }) {
+      if (directory.isDirectory()) {
+        for (File file : FileUtils.getFiles(directory, "**/*", null)) {
+          if (!deltaFiles.contains(file)) {
+            deleteTargetFile(file);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the i18n source files affected by changed or deleted source files: all source files of their languages,
+   * as they write the same target files, and when merging fallback languages all source files using them as fallback
+   * language.
+   * @param changedSourceFiles Changed source files
+   * @param deletedSourceFiles Deleted source files
+   * @return Affected source files
+   */
+  private List<File> getAffectedI18nSourceFiles(List<File> changedSourceFiles, List<File> deletedSourceFiles)
+      throws IOException {
+    Set<String> changedLanguagePaths = new HashSet<>();
+    for (File sourceFile : changedSourceFiles) {
+      changedLanguagePaths.add(LanguageFallback.getLanguagePath(sourceFile));
+    }
+    for (File sourceFile : deletedSourceFiles) {
+      changedLanguagePaths.add(LanguageFallback.getLanguagePath(sourceFile));
+    }
+    List<File> files = new ArrayList<>();
+    for (File sourceFile : getI18nSourceFiles()) {
+      if (changedLanguagePaths.contains(LanguageFallback.getLanguagePath(sourceFile))
+          || (languageFallback != null
+              && !Collections.disjoint(changedLanguagePaths, languageFallback.getFallbackLanguagePaths(sourceFile)))) {
+        files.add(sourceFile);
+      }
+    }
+    return files;
+  }
+
+  /**
+   * Gets the i18n source files that were changed since the last incremental build.
+   * @return Changed source files
+   */
+  private List<File> getChangedI18nSourceFiles() {
+    if (!sourceDirectory.isDirectory()) {
+      return Collections.emptyList();
+    }
+    List<File> files = new ArrayList<>();
+    for (String relativePath : scanI18nSourceFiles(buildContext.newScanner(sourceDirectory))) {
+      files.add(new File(sourceDirectory, relativePath));
+    }
+    return files;
+  }
+
+  /**
+   * Gets the i18n source files that were deleted since the last incremental build.
+   * @return Deleted source files
+   */
+  private List<File> getDeletedI18nSourceFiles() {
+    if (!sourceDirectory.isDirectory()) {
+      return Collections.emptyList();
+    }
+    List<File> files = new ArrayList<>();
+    for (String relativePath : scanI18nSourceFiles(buildContext.newDeleteScanner(sourceDirectory))) {
+      files.add(new File(sourceDirectory, relativePath));
+    }
+    return files;
+  }
+
+  /**
+   * Deletes the target files of the given deleted i18n source files.
+   * @param files Deleted source files
+   */
+  private void deleteTargetFiles(List<File> files) throws IOException {
+    for (File sourceFile : files) {
+      if (transformCache != null) {
+        transformCache.remove(getSourcePath(sourceFile));
+      }
+
+      for (OutputTarget outputTarget : outputTargets) {
+        File targetFile = getTargetFile(sourceFile, outputTarget);
+
+        // another source file with different file extension may still produce the same target file
+        if (isTargetOfExistingSourceFile(targetFile, outputTarget)) {
+          continue;
+        }
+
+        if (outputTarget.getFormat() == OutputFormat.JSON_PROPERTIES_SHARDED) {
+          deleteShardFiles(targetFile, Collections.emptyList());
+          File shardDirectory = new File(targetFile.getParentFile(), FileUtils.removeExtension(targetFile.getName()));
+          String[] remainingFiles = shardDirectory.list();
+          if (remainingFiles != null && remainingFiles.length == 0 && shardDirectory.delete()) {
+            refresh(shardDirectory);
+          }
+        }
+        deleteTargetFile(targetFile);
+        deleteTargetFile(getGzipFile(targetFile));
+      }
+
+      if (mojo.isDelta()) {
+        deleteTargetFile(getDeltaFile(sourceFile));
+        deleteTargetFile(getDigestFile(sourceFile));
+      }
+    }
+  }
+
+  private boolean deleteTargetFile(File targetFile) throws IOException {
+    if (targetFile.exists()) {
+      if (!targetFile.delete()) {
+        throw new IOException("Unable to delete file: " + targetFile.getPath());
+      }
+      refresh(targetFile);
+      log.info("Deleted " + targetFile.getPath());
+      return true;
+    }
+    return false;
+  }
+
+  private boolean isTargetOfExistingSourceFile(File targetFile, OutputTarget outputTarget) throws IOException {
+    for (File sourceFile : getI18nSourceFiles()) {
+      if (getTargetFile(sourceFile, outputTarget).equals(targetFile)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param file File
+   * @return true if the file name has one of the file extensions of i18n source files
+   */
+  static boolean isI18nSourceFile(File file) {
+    String extension = FileUtils.getExtension(file.getName());
+    return StringUtils.equalsAny(extension, FILE_EXTENSION_PROPERTIES, FILE_EXTENSION_XML, FILE_EXTENSION_JSON);
+  }
+
+  /**
+   * @param scanner Scanner for a source directory
+   * @return Relative paths of the i18n source files
+   */
+  static String[] scanI18nSourceFiles(Scanner scanner) {
+    scanner.setIncludes(SOURCE_FILES_INCLUDES);
+    scanner.addDefaultExcludes();
+    scanner.scan();
+    return scanner.getIncludedFiles();
+  }
+
+  /**
+   * Initialize parameters, which cannot get defaults from annotations. Currently only the root nodes.
+   * @throws IOException I/O exception
+   */
+  private void intialize() throws IOException {
+    log.debug("Initializing i18n plugin for " + sourceDirectory.getPath() + "...");
+
+    // resource
+    if (!getI18nSourceFiles().isEmpty()) {
+      StringBuilder configuration = new StringBuilder();
+      for (OutputTarget outputTarget : outputTargets) {
+        File myGeneratedResourcesFolder = getGeneratedResourcesFolder(outputTarget);
+        addResource(myGeneratedResourcesFolder.getPath(), outputTarget.getTarget());
+        configuration.append("outputFormat=").append(outputTarget.getFormat())
+            .append(";target=").append(outputTarget.getTarget())
+            .append(";generatedResourcesFolderPath=").append(outputTarget.getGeneratedResourcesFolderPath())
+            .append(';');
+      }
+
+      // build cache
+      if (mojo.isCache()) {
+        File cacheFile = new File(buildDirectory,
+            "i18n-maven-plugin/" + mojo.getExecutionId() + "-cache.properties");
+        configuration.append("prettyPrint=").append(mojo.isPrettyPrint())
+            .append(";gzip=").append(mojo.isGzip())
+            .append(";gzipLevel=").append(mojo.getGzipLevel())
+            .append(";binaryPerfectHash=").append(mojo.isBinaryPerfectHash())
+            .append(";shardPrefixes=").append(mojo.getKeyShardingConfiguration())
+            .append(";mergeFallbackLanguages=").append(mojo.isMergeFallbackLanguages())
+            .append(";fallbackLanguage=").append(StringUtils.defaultString(mojo.getFallbackLanguage()))
+            .append(";pluginVersion=").append(mojo.getPluginVersion());
+        transformCache = new TransformCache(cacheFile, configuration.toString());
+        transformCache.load();
+        sourceFilesByLanguagePath = getSourceFilesByLanguagePath(getI18nSourceFiles());
+      }
+    }
+
+  }
+
+  /**
+   * The delta of a language is computed from a single source file, source files of the same language with different
+   * file extensions would overwrite each other's delta and digest files.
+   */
+  private void validateSingleSourceFilePerLanguage() throws IOException, MojoFailureException {
+    for (List<File> files : getSourceFilesByLanguagePath(getI18nSourceFiles()).values()) {
+      if (files.size() > 1) {
+        throw new MojoFailureException("Delta is not supported for multiple source files of the same language: "
+            + StringUtils.join(files, ", "));
+      }
+    }
+  }
+
+  /**
+   * @param files Source files
+   * @return Source files grouped by language path in source order
+   */
+  private static Map<String, List<File>> getSourceFilesByLanguagePath(List<File> files) {
+    Map<String, List<File>> filesByLanguagePath = new HashMap<>();
+    for (File file : files) {
+      filesByLanguagePath.computeIfAbsent(LanguageFallback.getLanguagePath(file), key -> new ArrayList<>()).add(file);
+    }
+    return filesByLanguagePath;
+  }
+
+  private void addResource(String generatedResourcesDirectory, String targetPath) {
+
+    // construct resource
+    Resource resource = new Resource();
+    resource.setDirectory(generatedResourcesDirectory);
+    resource.setTargetPath(targetPath);
+
+    // add to build, unless already added by a previous transformation of the same project
+    Build build = this.project.getBuild();
+    for (Resource existingResource : build.getResources()) {
+      if (StringUtils.equals(existingResource.getDirectory(), generatedResourcesDirectory)) {
+        return;
+      }
+    }
+    build.addResource(resource);
+    log.debug("Added resource: " + resource.getDirectory() + " -> " + resource.getTargetPath());
+  }
+
+  /**
+   * Fetches i18n source files from source directory.
+   * @return a list of XML files
+   */
+  private List<File> getI18nSourceFiles() throws IOException {
+
+    if (i18nSourceFiles == null) {
+      if (!sourceDirectory.isDirectory()) {
+        i18nSourceFiles = Collections.emptyList();
+      }
+      else {
+        // get list of source files
+        String includes = StringUtils.join(SOURCE_FILES_INCLUDES, ",");
+        String excludes = FileUtils.getDefaultExcludesAsString();
+
+        i18nSourceFiles = FileUtils.getFiles(sourceDirectory, includes, excludes);
+      }
+    }
+
+    return i18nSourceFiles;
+  }
+
+  /**
+   * @param sourceFile Source file
+   * @return Path of source file relative to the source directory
+   */
+  private String getSourcePath(File sourceFile) {
+    return sourceDirectory.toPath().relativize(sourceFile.toPath()).toString().replace(File.separatorChar, '/');
+  }
+
+  private List<String> getSourcePaths(List<File> files) {
+    List<String> sourcePaths = new ArrayList<>(files.size());
+    for (File sourceFile : files) {
+      sourcePaths.add(getSourcePath(sourceFile));
+    }
+    return sourcePaths;
+  }
+
+  /**
+   * Serializes the mappings to the content of the target file, and of the gzip-compressed copy if enabled.
+   * Small content is kept in memory, larger content is streamed to temporary files.
+   * @param i18nMap mappings
+   * @param output Receives the content of the target files
+   * @param selectedOutputFormat Output format
+   * @param statistics Statistics of the source file
+   */
+  private void serializeOutput(SlingI18nMap i18nMap, OutputContent output, OutputFormat selectedOutputFormat,
+      TransformReport.FileStatistics statistics) throws IOException {
+    long serializeStartNanos = System.nanoTime();
+    boolean prettyPrint = mojo.isPrettyPrint();
+    File targetfile = output.targetFile;
+    switch (selectedOutputFormat) {
+      case XML:
+        serializeTargetFile(targetfile, os -> i18nMap.writeI18nXml(os, prettyPrint), output.contents);
+        break;
+      case PROPERTIES:
+        serializeTargetFile(targetfile, i18nMap::writeI18nProperties, output.contents);
+        break;
+      case JSON:
+        serializeTargetFile(targetfile, os -> i18nMap.writeI18nJson(os, prettyPrint), output.contents);
+        break;
+      case JSON_PROPERTIES:
+        serializeTargetFile(targetfile, os -> i18nMap.writeI18nJsonProperties(os, prettyPrint), output.contents);
+        break;
+      case JSON_PROPERTIES_SHARDED:
+        serializeShards(i18nMap, output);
+        break;
+      case BINARY:
+        serializeTargetFile(targetfile, os -> {
+          if (!i18nMap.writeI18nBinary(os, mojo.isBinaryPerfectHash())) {
+            log.warn("No perfect hash found for the keys of " + targetfile.getPath()
+                + ", keys are looked up by binary search.");
+          }
+        }, output.contents);
+        break;
+      default:
+        throw new IllegalArgumentException("Unsupported ouptut format: " + selectedOutputFormat);
+    }
+    statistics.serialize(System.nanoTime() - serializeStartNanos, output.size());
+  }
+
+  /**
+   * Serializes the shards of the mappings to a directory named after the language, and the index of the shards to
+   * the target file.
+   * @param i18nMap mappings
+   * @param output Output content of the index file
+   */
+  private void serializeShards(SlingI18nMap i18nMap, OutputContent output) throws IOException {
+    boolean prettyPrint = mojo.isPrettyPrint();
+    File indexFile = output.targetFile;
+    String languageKey = FileUtils.removeExtension(indexFile.getName());
+    output.shardDirectory = new File(indexFile.getParentFile(), languageKey);
+
+    Map<String, String> shardFiles = new LinkedHashMap<>();
+    Map<String, Integer> shardSizes = new HashMap<>();
+    Set<String> shardFileNames = new HashSet<>();
+    for (Map.Entry<String, SlingI18nMap> shard : i18nMap.split(mojo.getKeySharding()).entrySet()) {
+      String shardFileName = KeySharding.getFileName(shard.getKey()) + "."
+          + OutputFormat.JSON_PROPERTIES_SHARDED.getFileExtension();
+      if (!shardFileNames.add(shardFileName)) {
+        throw new IOException("Multiple shards result in the same file name: " + shardFileName);
+      }
+      SlingI18nMap shardI18nMap = shard.getValue();
+      serializeTargetFile(new File(output.shardDirectory, shardFileName),
+          os -> shardI18nMap.writeI18nJsonProperties(os, prettyPrint), output.shardContents);
+      shardFiles.put(shard.getKey(), languageKey + "/" + shardFileName);
+      shardSizes.put(shard.getKey(), shardI18nMap.size());
+    }
+    output.retainedShardFiles = shardFiles.values();
+    serializeTargetFile(indexFile,
+        os -> KeySharding.writeIndex(os, languageKey, shardFiles, shardSizes, prettyPrint), output.contents);
+  }
+
+  /**
+   * Writes the content of a target file to memory or a temporary file. If enabled, the gzip-compressed copy is
+   * written in the same pass.
+   * @param targetfile target file
+   * @param contentWriter Writes the content
+   * @param contents Receives the content of the target file and its gzip-compressed copy
+   */
+  private void serializeTargetFile(File targetfile, ContentWriter contentWriter, List<TargetContent> contents)
+      throws IOException {
+    TargetContent content = new TargetContent(targetfile);
+    contents.add(content);
+    TargetContent gzipContent = null;
+    if (mojo.isGzip()) {
+      gzipContent = new TargetContent(getGzipFile(targetfile));
+      contents.add(gzipContent);
+    }
+    OutputStream os = content.openOutputStream();
+    if (gzipContent != null) {
+      os = new TeeOutputStream(os, new LevelGZIPOutputStream(gzipContent.openOutputStream(), mojo.getGzipLevel()));
+    }
+    try (OutputStream bos = new BufferedOutputStream(os)) {
+      contentWriter.write(bos);
+    }
+  }
+
+  /**
+   * Writes the target files of an output. Shard files listed in the previous index that are no longer part of the
+   * output are deleted before the index file is replaced.
+   * @param output Output content
+   * @param statistics Counts the written and unchanged target files
+   * @return true if any file was written or deleted, false if the content of all files was unchanged
+   */
+  private boolean writeOutput(OutputContent output, TransformReport.FileStatistics statistics) throws IOException {
+    boolean written = false;
+    if (output.shardDirectory != null) {
+      createDirectory(output.shardDirectory);
+      for (TargetContent shardContent : output.shardContents) {
+        written = replaceTargetFile(shardContent, statistics) || written;
+      }
+      written = deleteShardFiles(output.targetFile, output.retainedShardFiles) || written;
+    }
+    for (TargetContent content : output.contents) {
+      written = replaceTargetFile(content, statistics) || written;
+    }
+    return written;
+  }
+
+  private boolean replaceTargetFile(TargetContent targetContent, TransformReport.FileStatistics statistics)
+      throws IOException {
+    boolean written = replaceTargetFile(targetContent);
+    if (written) {
+      statistics.targetFileWritten(targetContent.size());
+    }
+    else {
+      statistics.targetFileUnchanged();
+    }
+    return written;
+  }
+
+  /**
+   * Deletes the shard files listed in the existing index file.
+   * @param indexFile Index file
+   * @param retainedShardFiles Relative paths of shard files that are not deleted
+   * @return true if any file was deleted
+   */
+  private boolean deleteShardFiles(File indexFile, Collection<String> retainedShardFiles) throws IOException {
+    boolean deleted = false;
+    for (String shardFile : KeySharding.readIndexFiles(indexFile)) {
+      if (!retainedShardFiles.contains(shardFile)) {
+        File file = new File(indexFile.getParentFile(), shardFile);
+        deleted = deleteTargetFile(file) || deleted;
+        deleted = deleteTargetFile(getGzipFile(file)) || deleted;
+      }
+    }
+    return deleted;
+  }
+
+  /**
+   * Replaces the target file if the content has changed. This avoids touching the target file and triggering
+   * downstream processing when nothing has changed. The content is written to a temporary file first, which is
+   * moved to the target file, so the target file is never left partially written.
+   * @param targetContent Target file and its content
+   * @return true if the target file was written, false if its content was unchanged
+   */
+  private boolean replaceTargetFile(TargetContent targetContent) throws IOException {
+    File targetFile = targetContent.file;
+    if (targetFile.length() == targetContent.size() && targetFile.exists()) {
+      try (InputStream is = Files.newInputStream(targetFile.toPath());
+          InputStream contentStream = targetContent.openInputStream()) {
+        if (IOUtils.contentEquals(contentStream, is)) {
+          return false;
+        }
+      }
+    }
+    File tempFile = targetContent.tempFile;
+    if (tempFile == null) {
+      tempFile = createTempFile(targetFile);
+      try (OutputStream os = Files.newOutputStream(tempFile.toPath())) {
+        targetContent.writeTo(os);
+      }
+    }
+    try {
+      Files.move(tempFile.toPath(), targetFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+    finally {
+      Files.deleteIfExists(tempFile.toPath());
+    }
+    refresh(targetFile);
+    return true;
+  }
+
+  private static File getGzipFile(File targetFile) {
+    return new File(targetFile.getPath() + ".gz");
+  }
+
+  /**
+   * Creates a temporary file in the plugin's working directory, outside the generated resources folder.
+   * @param targetFile Target file
+   * @return Temporary file
+   */
+  private File createTempFile(File targetFile) throws IOException {
+    // unlike Files.createTempFile the file is created with default permissions, as it replaces the target file
+    return File.createTempFile(targetFile.getName() + ".", ".tmp", getTempDirectory());
+  }
+
+  /**
+   * @return Directory for temporary files in the plugin's working directory
+   */
+  private File getTempDirectory() throws IOException {
+    File tempDirectory = new File(buildDirectory, "i18n-maven-plugin/tmp");
+    if (!tempDirectory.mkdirs() && !tempDirectory.isDirectory()) {
+      throw new IOException("Unable to create directory: " + tempDirectory.getPath());
+    }
+    return tempDirectory;
+  }
+
+  /**
+   * Get the target file for source file.
+   * @param sourceFile the source file
+   * @param outputTarget Output target
+   * @return File with name and path based on file parameter
+   */
+  private File getTargetFile(File sourceFile, OutputTarget outputTarget) throws IOException {
+
+    String relativePath = StringUtils.substringAfter(sourceFile.getAbsolutePath(), sourceDirectory.getAbsolutePath());
+    String relativeTargetPath = FileUtils.removeExtension(relativePath) + "." + outputTarget.getFormat().getFileExtension();
+
+    File targetFile = new File(getGeneratedResourcesFolder(outputTarget).getPath() + relativeTargetPath);
+    return targetFile.getCanonicalFile();
+  }
+
+  /**
+   * Ensures the parent directory of the given target file exists.
+   * @param targetFile Target file
+   */
+  private void createParentDirectory(File targetFile) throws IOException {
+    createDirectory(targetFile.getParentFile());
+  }
+
+  private void createDirectory(File directory) throws IOException {
+    if (!directory.exists()) {
+      // directory may be created concurrently when transforming files in parallel
+      if (!directory.mkdirs() && !directory.isDirectory()) {
+        throw new IOException("Unable to create directory: " + directory.getPath());
+      }
+      refresh(directory);
+    }
+  }
+
+  /**
+   * Build context implementations are not required to be thread-safe, and the build context is shared
+   * by the transformers of all projects.
+   * @param file File or directory to refresh
+   */
+  private void refresh(File file) {
+    synchronized (buildContext) {
+      buildContext.refresh(file);
+    }
+  }
+
+  private synchronized File getGeneratedResourcesFolder(OutputTarget outputTarget) throws IOException {
+    File generatedResourcesFolder = generatedResourcesFolders.get(outputTarget);
+    if (generatedResourcesFolder == null) {
+      generatedResourcesFolder = new File(buildDirectory,
+          outputTarget.getGeneratedResourcesFolderPath());
+      if (!generatedResourcesFolder.exists()) {
+        if (!generatedResourcesFolder.mkdirs()) {
+          throw new IOException("Unable to create directory: " + generatedResourcesFolder.getPath());
+        }
+        refresh(generatedResourcesFolder);
+      }
+      generatedResourcesFolders.put(outputTarget, generatedResourcesFolder);
+    }
+    return generatedResourcesFolder;
+  }
+
+  /**
+   * Get i18n reader for source file.
+   * @param sourceFile Source file
+   * @return I18n reader
+   */
+  static I18nReader getI18nReader(File sourceFile) throws MojoFailureException {
+    return getI18nReader(sourceFile, PropertiesI18nReader.DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * Get i18n reader for source file.
+   * @param sourceFile Source file
+   * @param parallelThreshold Minimum size in bytes of .properties files that are parsed in parallel, 0 to disable
+   * @return I18n reader
+   */
+  static I18nReader getI18nReader(File sourceFile, long parallelThreshold) throws MojoFailureException {
+    String extension = FileUtils.getExtension(sourceFile.getName());
+    if (StringUtils.equalsIgnoreCase(extension, FILE_EXTENSION_PROPERTIES)) {
+      return new PropertiesI18nReader(parallelThreshold);
+    }
+    if (StringUtils.equalsIgnoreCase(extension, FILE_EXTENSION_XML)) {
+      return new XmlI18nReader();
+    }
+    if (StringUtils.equalsIgnoreCase(extension, FILE_EXTENSION_JSON)) {
+      return new JsonI18nReader();
+    }
+    throw new MojoFailureException("Unsupported file extension '" + extension + "': " + sourceFile.getAbsolutePath());
+  }
+
+  /**
+   * Result of a transformed source file.
+   */
+  static final class TransformResult {
+
+    private final String message;
+    private final TransformReport.FileStatistics statistics;
+
+    TransformResult(String message, TransformReport.FileStatistics statistics) {
+      this.message = message;
+      this.statistics = statistics;
+    }
+
+  }
+
+  /**
+   * Source file passed through the stages of the transformation. Holds the parsed i18n map until it is serialized,
+   * and the serialized content until it is written.
+   */
+  static final class TransformJob {
+
+    private final File file;
+    private final TransformReport.FileStatistics statistics;
+    private final List<File> targetFiles = new ArrayList<>();
+    private final List<OutputContent> outputContents = new ArrayList<>();
+    private final List<TargetContent> deltaContents = new ArrayList<>();
+    private String hash;
+    private SlingI18nMap i18nMap;
+    private TransformResult result;
+
+    TransformJob(File file, TransformReport.FileStatistics statistics) {
+      this.file = file;
+      this.statistics = statistics;
+    }
+
+    /**
+     * @return Estimated heap usage of the parsed i18n map
+     */
+    long getParsedBytes() {
+      return i18nMap != null ? i18nMap.estimateHeapBytes() : 0;
+    }
+
+    /**
+     * @return Number of bytes of the serialized content held in memory
+     */
+    long getSerializedBytes() {
+      long bytes = 0;
+      for (OutputContent output : outputContents) {
+        for (TargetContent content : output.contents) {
+          bytes += content.getInMemorySize();
+        }
+        for (TargetContent content : output.shardContents) {
+          bytes += content.getInMemorySize();
+        }
+      }
+      for (TargetContent content : deltaContents) {
+        bytes += content.getInMemorySize();
+      }
+      return bytes;
+    }
+
+    void deleteTempFiles() throws IOException {
+      for (OutputContent output : outputContents) {
+        for (TargetContent content : output.contents) {
+          content.deleteTempFile();
+        }
+        for (TargetContent content : output.shardContents) {
+          content.deleteTempFile();
+        }
+      }
+      for (TargetContent content : deltaContents) {
+        content.deleteTempFile();
+      }
+    }
+
+  }
+
+  /**
+   * Serialized content of the target files of an output target.
+   */
+  private static final class OutputContent {
+
+    private final File targetFile;
+    private final List<TargetContent> contents = new ArrayList<>();
+    private final List<TargetContent> shardContents = new ArrayList<>();
+    private File shardDirectory;
+    private Collection<String> retainedShardFiles;
+
+    OutputContent(File targetFile) {
+      this.targetFile = targetFile;
+    }
+
+    long size() {
+      long size = 0;
+      for (TargetContent content : contents) {
+        size += content.size();
+      }
+      for (TargetContent content : shardContents) {
+        size += content.size();
+      }
+      return size;
+    }
+
+  }
+
+  /**
+   * Serialized content of a target file. Content up to {@link #MAX_IN_MEMORY_CONTENT_BYTES} is kept in memory,
+   * larger content is streamed to a temporary file, which is moved to the target file when it is written.
+   */
+  private final class TargetContent {
+
+    private final File file;
+    private ByteArrayOutputStream content = new ByteArrayOutputStream();
+    private File tempFile;
+    private OutputStream tempFileOutputStream;
+
+    /**
+     * @param file Target file
+     */
+    TargetContent(File file) {
+      this.file = file;
+    }
+
+    /**
+     * @return Output stream receiving the content, has to be closed after writing
+     */
+    OutputStream openOutputStream() {
+      return new ThresholdingOutputStream(MAX_IN_MEMORY_CONTENT_BYTES, os -> spill(),
+          os -> tempFileOutputStream != null ? tempFileOutputStream : content);
+    }
+
+    private void spill() throws IOException {
+      tempFile = createTempFile(file);
+      tempFileOutputStream = Files.newOutputStream(tempFile.toPath());
+      content.writeTo(tempFileOutputStream);
+      content = null;
+    }
+
+    InputStream openInputStream() throws IOException {
+      return tempFile != null ? Files.newInputStream(tempFile.toPath()) : content.toInputStream();
+    }
+
+    void writeTo(OutputStream outputStream) throws IOException {
+      content.writeTo(outputStream);
+    }
+
+    long size() {
+      return tempFile != null ? tempFile.length() : content.size();
+    }
+
+    long getInMemorySize() {
+      return content != null ? content.size() : 0;
+    }
+
+    void deleteTempFile() throws IOException {
+      if (tempFile != null) {
+        IOUtils.closeQuietly(tempFileOutputStream);
+        Files.deleteIfExists(tempFile.toPath());
+      }
+    }
+
+  }
+
+  /**
+   * Writes the content of a target file.
+   */
+  @FunctionalInterface
+  private interface ContentWriter {
+
+    void write(OutputStream outputStream) throws IOException;
+
+  }
+
+  /**
+   * GZIP output stream with configurable compression level. The header contains no file name and modification time,
+   * so the output only changes if the content changes.
+   */
+  private static final class LevelGZIPOutputStream extends GZIPOutputStream {
+
+    LevelGZIPOutputStream(OutputStream out, int level) throws IOException {
+      super(out, GZIP_BUFFER_SIZE);
+      def.setLevel(level);
+    }
+
+  }
+
+  /**
+   * Lazily parsed entries of a source file.
+   */
+  private final class SourceEntries {
+
+    private final File file;
+    private int dependentCount;
+    private SortedMap<String, String> entries;
+    private InFlightBudget budget;
+    private long retainedBytes;
+
+    /**
+     * @param file Source file
+     * @param dependentCount Number of source files using the entries
+     */
+    SourceEntries(File file, int dependentCount) {
+      this.file = file;
+      this.dependentCount = dependentCount;
+    }
+
+    synchronized SortedMap<String, String> get(InFlightBudget inFlightBudget) throws IOException, MojoFailureException {
+      if (entries == null) {
+        entries = readSourceEntries(file);
+        if (inFlightBudget != null) {
+          budget = inFlightBudget;
+          retainedBytes = SlingI18nMap.estimateHeapBytes(entries);
+          budget.retain(retainedBytes);
+        }
+      }
+      return entries;
+    }
+
+    /**
+     * @return true if the last source file using the entries released them
+     */
+    synchronized boolean release() {
+      dependentCount--;
+      if (dependentCount > 0) {
+        return false;
+      }
+      entries = null;
+      if (budget != null) {
+        budget.releaseRetained(retainedBytes);
+        budget = null;
+      }
+      return true;
+    }
+
+  }
+
+}
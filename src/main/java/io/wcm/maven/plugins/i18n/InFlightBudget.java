@@ -0,0 +1,100 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+/**
+ * Limits the estimated bytes of parsed entries and serialized output held in memory by the transform pipeline.
+ * Only the thread submitting new source files blocks, the pipeline stages adjust and release their share without
+ * waiting, so the stages always make progress.
+ */
+final class InFlightBudget {
+
+  private final long maxBytes;
+  private long inFlightBytes;
+  private long retainedBytes;
+
+  /**
+   * @param maxBytes Maximum number of bytes in flight
+   */
+  InFlightBudget(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Waits until the given number of bytes fits into the budget. A single item larger than the budget is admitted
+   * when no other item is in flight, so it is not blocked forever, even if bytes are retained.
+   * @param bytes Number of bytes
+   * @throws InterruptedException Interrupted while waiting
+   */
+  synchronized void acquire(long bytes) throws InterruptedException {
+    while (inFlightBytes > retainedBytes && inFlightBytes + bytes > maxBytes) {
+      wait();
+    }
+    inFlightBytes += bytes;
+  }
+
+  /**
+   * Changes the number of bytes held by an item without waiting, e.g. when its parsed entries are replaced
+   * by the serialized output. The budget may be exceeded temporarily, which blocks further acquisitions.
+   * @param previousBytes Number of bytes acquired before
+   * @param bytes New number of bytes
+   */
+  synchronized void resize(long previousBytes, long bytes) {
+    inFlightBytes += bytes - previousBytes;
+    if (bytes < previousBytes) {
+      notifyAll();
+    }
+  }
+
+  /**
+   * @param bytes Number of bytes to release
+   */
+  synchronized void release(long bytes) {
+    inFlightBytes -= bytes;
+    notifyAll();
+  }
+
+  /**
+   * Adds bytes retained between items without waiting, e.g. parsed entries shared by multiple items. They count
+   * against the budget until they are released.
+   * @param bytes Number of bytes
+   */
+  synchronized void retain(long bytes) {
+    inFlightBytes += bytes;
+    retainedBytes += bytes;
+  }
+
+  /**
+   * @param bytes Number of retained bytes to release
+   */
+  synchronized void releaseRetained(long bytes) {
+    inFlightBytes -= bytes;
+    retainedBytes -= bytes;
+    notifyAll();
+  }
+
+  /**
+   * @return Number of bytes in flight
+   */
+  synchronized long getInFlightBytes() {
+    return this.inFlightBytes;
+  }
+
+}
@@ -20,8 +20,12 @@
 package io.wcm.maven.plugins.i18n;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import jakarta.json.Json;
@@ -31,6 +35,9 @@ import jakarta.json.JsonReaderFactory;
 import jakarta.json.JsonWriter;
 import jakarta.json.JsonWriterFactory;
 import jakarta.json.stream.JsonGenerator;
+import jakarta.json.stream.JsonGeneratorFactory;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParserFactory;
 import jakarta.json.stream.JsonParsingException;
 
 /**
@@ -41,8 +48,17 @@ public final class JsonUtil {
   private static final JsonWriterFactory JSON_WRITER_FACTORY = Json.createWriterFactory(Map.of(
       JsonGenerator.PRETTY_PRINTING, true));
 
-  private static final JsonReaderFactory JSON_READER_FACTORY = Json.createReaderFactory(Map.of(
-      "org.apache.johnzon.supports-comments", true));
+  private static final JsonGeneratorFactory JSON_GENERATOR_FACTORY = Json.createGeneratorFactory(Map.of(
+      JsonGenerator.PRETTY_PRINTING, true));
+
+  private static final JsonGeneratorFactory JSON_GENERATOR_FACTORY_COMPACT = Json.createGeneratorFactory(Map.of());
+
+  private static final Map<String, Object> JSON_READER_CONFIG = Map.of(
+      "org.apache.johnzon.supports-comments", true);
+
+  private static final JsonReaderFactory JSON_READER_FACTORY = Json.createReaderFactory(JSON_READER_CONFIG);
+
+  private static final JsonParserFactory JSON_PARSER_FACTORY = Json.createParserFactory(JSON_READER_CONFIG);
 
   private JsonUtil() {
     // static methods only
@@ -61,6 +77,38 @@ public final class JsonUtil {
     }
   }
 
+  /**
+   * Create JSON generator writing UTF-8 encoded JSON to the given output stream.
+   * The output is formatted the same way as by {@link #toString(JsonObject)}.
+   * @param outputStream Output stream
+   * @return JSON generator
+   */
+  public static JsonGenerator createGenerator(OutputStream outputStream) {
+    return createGenerator(outputStream, true);
+  }
+
+  /**
+   * Create JSON generator writing UTF-8 encoded JSON to the given output stream.
+   * @param outputStream Output stream
+   * @param prettyPrint If true the output is formatted the same way as by {@link #toString(JsonObject)},
+   *          otherwise it is written without any whitespace
+   * @return JSON generator
+   */
+  public static JsonGenerator createGenerator(OutputStream outputStream, boolean prettyPrint) {
+    JsonGeneratorFactory factory = prettyPrint ? JSON_GENERATOR_FACTORY : JSON_GENERATOR_FACTORY_COMPACT;
+    return factory.createGenerator(outputStream, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Create JSON generator writing JSON to the given writer.
+   * The output is formatted the same way as by {@link #toString(JsonObject)}.
+   * @param writer Writer
+   * @return JSON generator
+   */
+  public static JsonGenerator createGenerator(Writer writer) {
+    return JSON_GENERATOR_FACTORY.createGenerator(writer);
+  }
+
   /**
    * Parse JSON string to JSON object.
    * @param jsonString JSON string
@@ -77,4 +125,14 @@ public final class JsonUtil {
     }
   }
 
+  /**
+   * Create JSON parser reading UTF-8 encoded JSON from the given input stream.
+   * Like {@link #fromString(String)} the parser supports comments.
+   * @param inputStream Input stream
+   * @return JSON parser
+   */
+  public static JsonParser createParser(InputStream inputStream) {
+    return JSON_PARSER_FACTORY.createParser(inputStream, StandardCharsets.UTF_8);
+  }
+
 }
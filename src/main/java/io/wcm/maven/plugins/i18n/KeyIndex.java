@@ -0,0 +1,180 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import io.wcm.maven.plugins.i18n.readers.I18nEntrySink;
+
+/**
+ * Index of the keys of the reference language, built once and shared by the validation of all other languages.
+ * Each key gets a numeric ID, so the keys found in a language are tracked in a bit set instead of a map, and the
+ * placeholders of each key are stored as bit mask of the argument indexes.
+ * The index is immutable after creation, so languages can be validated concurrently.
+ */
+final class KeyIndex {
+
+  private final String[] keys;
+  private final Map<String, Integer> ids;
+  private final long[] placeholderMasks;
+  private final boolean checkPlaceholders;
+
+  /**
+   * @param referenceEntries Entries of the reference language
+   * @param checkPlaceholders Whether to check the placeholders of the values
+   */
+  KeyIndex(SortedMap<String, String> referenceEntries, boolean checkPlaceholders) {
+    int size = referenceEntries.size();
+    keys = new String[size];
+    ids = new HashMap<>(size * 4 / 3 + 1);
+    placeholderMasks = new long[size];
+    this.checkPlaceholders = checkPlaceholders;
+    int id = 0;
+    for (Map.Entry<String, String> entry : referenceEntries.entrySet()) {
+      keys[id] = entry.getKey();
+      ids.put(entry.getKey(), id);
+      if (checkPlaceholders) {
+        placeholderMasks[id] = getPlaceholderMask(entry.getValue());
+      }
+      id++;
+    }
+  }
+
+  /**
+   * @return Number of keys of the reference language
+   */
+  int size() {
+    return keys.length;
+  }
+
+  /**
+   * @param language Language, used as label of the validation
+   * @return Sink collecting the differences of the entries of the language to the reference language
+   */
+  Validation validate(String language) {
+    return new Validation(language);
+  }
+
+  /**
+   * Gets the argument indexes of all <code>{index}</code> and <code>{index,format}</code> placeholders in the
+   * message format of a value as bit mask. Argument indexes above 63 share the highest bit. Quoting with single
+   * quotes is not taken into account, as apostrophes are used in messages without arguments unescaped.
+   * @param value I18n value
+   * @return Bit mask of argument indexes
+   */
+  static long getPlaceholderMask(String value) {
+    long mask = 0;
+    int index = value.indexOf('{');
+    while (index >= 0) {
+      int pos = index + 1;
+      int argumentIndex = 0;
+      while (pos < value.length() && value.charAt(pos) >= '0' && value.charAt(pos) <= '9') {
+        argumentIndex = Math.min(argumentIndex * 10 + value.charAt(pos) - '0', Long.SIZE - 1);
+        pos++;
+      }
+      if (pos > index + 1 && pos < value.length() && (value.charAt(pos) == '}' || value.charAt(pos) == ',')) {
+        mask |= 1L << argumentIndex;
+      }
+      index = value.indexOf('{', pos);
+    }
+    return mask;
+  }
+
+  /**
+   * Collects the differences of the entries of a language to the reference language.
+   */
+  final class Validation implements I18nEntrySink {
+
+    private final String language;
+    private final BitSet presentKeys = new BitSet(keys.length);
+    private final BitSet placeholderMismatches = new BitSet(keys.length);
+    private final SortedSet<String> extraKeys = new TreeSet<>();
+
+    Validation(String language) {
+      this.language = language;
+    }
+
+    @Override
+    public void put(String key, String value) {
+      Integer id = ids.get(key);
+      if (id == null) {
+        extraKeys.add(key);
+        return;
+      }
+      presentKeys.set(id);
+      if (checkPlaceholders) {
+        // the last value wins if a key is defined more than once
+        placeholderMismatches.set(id, getPlaceholderMask(value) != placeholderMasks[id]);
+      }
+    }
+
+    /**
+     * @return Language
+     */
+    String getLanguage() {
+      return this.language;
+    }
+
+    /**
+     * @return Keys of the reference language missing in this language, sorted
+     */
+    List<String> getMissingKeys() {
+      List<String> missingKeys = new ArrayList<>(keys.length - presentKeys.cardinality());
+      for (int id = presentKeys.nextClearBit(0); id < keys.length; id = presentKeys.nextClearBit(id + 1)) {
+        missingKeys.add(keys[id]);
+      }
+      return missingKeys;
+    }
+
+    /**
+     * @return Keys of this language not defined in the reference language, sorted
+     */
+    List<String> getExtraKeys() {
+      return new ArrayList<>(extraKeys);
+    }
+
+    /**
+     * @return Keys whose value uses other placeholders than the value of the reference language, sorted
+     */
+    List<String> getPlaceholderMismatchKeys() {
+      List<String> mismatchKeys = new ArrayList<>(placeholderMismatches.cardinality());
+      for (int id = placeholderMismatches.nextSetBit(0); id >= 0; id = placeholderMismatches.nextSetBit(id + 1)) {
+        mismatchKeys.add(keys[id]);
+      }
+      return mismatchKeys;
+    }
+
+    /**
+     * @return true if no differences were found
+     */
+    boolean isValid() {
+      return presentKeys.cardinality() == keys.length && extraKeys.isEmpty() && placeholderMismatches.isEmpty();
+    }
+
+  }
+
+}
@@ -0,0 +1,225 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+import jakarta.json.JsonArray;
+import jakarta.json.JsonException;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
+import jakarta.json.JsonValue;
+import jakarta.json.stream.JsonGenerator;
+
+/**
+ * Splits sorted i18n entries into shards by key namespace. A key belongs to the shard of a namespace if it starts
+ * with the namespace followed by a dot. The namespaces are either configured explicitly, or derived from the first
+ * segments of the keys up to the configured depth. Keys without namespace are put into the default shard.
+ * <p>
+ * As all keys of a namespace form a contiguous range of the sorted entries, each shard is a sub map view of the
+ * entries that is located without iterating the keys in between.
+ * </p>
+ */
+final class KeySharding {
+
+  /**
+   * Name of the shard containing all keys without namespace.
+   */
+  static final String DEFAULT_SHARD = "_default";
+
+  private final List<String> prefixes;
+  private final int depth;
+
+  /**
+   * @param prefixes Namespaces of the shards. If empty, the namespaces are derived from the keys.
+   * @param depth Number of key segments used as namespace if no namespaces are configured
+   */
+  KeySharding(List<String> prefixes, int depth) {
+    if (depth < 1) {
+      throw new IllegalArgumentException("Invalid shard depth: " + depth);
+    }
+    List<String> sortedPrefixes = new ArrayList<>(prefixes);
+    Collections.sort(sortedPrefixes);
+    for (String prefix : sortedPrefixes) {
+      if (StringUtils.isBlank(prefix) || StringUtils.startsWith(prefix, ".") || StringUtils.endsWith(prefix, ".")) {
+        throw new IllegalArgumentException("Invalid shard prefix: '" + prefix + "'");
+      }
+      // keys of a nested namespace would split the range of the outer namespace
+      for (String otherPrefix : sortedPrefixes) {
+        if (isInNamespace(prefix, otherPrefix)) {
+          throw new IllegalArgumentException("Nested shard prefixes are not supported: '" + otherPrefix
+              + "', '" + prefix + "'");
+        }
+      }
+    }
+    this.prefixes = sortedPrefixes;
+    this.depth = depth;
+  }
+
+  /**
+   * Splits the sorted entries into shards.
+   * @param entries Entries with natural ordering
+   * @return Shards in the order of their namespaces, followed by the default shard if it is not empty
+   */
+  Map<String, SortedMap<String, String>> split(SortedMap<String, String> entries) {
+    Map<String, SortedMap<String, String>> shards = new LinkedHashMap<>();
+    SortedMap<String, String> defaultShard = new TreeMap<>();
+    String prefix = addDefaultShardEntries(entries, defaultShard);
+    while (prefix != null) {
+      // all keys starting with "prefix." are sorted between "prefix." and "prefix/"
+      String end = prefix + '/';
+      shards.put(prefix, entries.subMap(prefix + '.', end));
+      prefix = addDefaultShardEntries(entries.tailMap(end), defaultShard);
+    }
+    if (!defaultShard.isEmpty()) {
+      shards.put(DEFAULT_SHARD, defaultShard);
+    }
+    return shards;
+  }
+
+  /**
+   * Adds the entries without namespace to the default shard, up to the first key with a namespace.
+   * @param entries Entries with natural ordering
+   * @param defaultShard Default shard
+   * @return Namespace of the first key with a namespace, or null if there is none
+   */
+  private String addDefaultShardEntries(SortedMap<String, String> entries, SortedMap<String, String> defaultShard) {
+    for (Map.Entry<String, String> entry : entries.entrySet()) {
+      String prefix = getPrefix(entry.getKey());
+      if (prefix != null) {
+        return prefix;
+      }
+      defaultShard.put(entry.getKey(), entry.getValue());
+    }
+    return null;
+  }
+
+  /**
+   * @param key I18n key
+   * @return Namespace of the key, or null if it belongs to the default shard
+   */
+  String getPrefix(String key) {
+    if (!prefixes.isEmpty()) {
+      for (String prefix : prefixes) {
+        if (isInNamespace(key, prefix)) {
+          return prefix;
+        }
+      }
+      return null;
+    }
+    int index = -1;
+    for (int i = 0; i < depth; i++) {
+      index = key.indexOf('.', index + 1);
+      if (index < 0) {
+        return null;
+      }
+    }
+    return key.substring(0, index);
+  }
+
+  private static boolean isInNamespace(String key, String prefix) {
+    return key.length() > prefix.length() && key.charAt(prefix.length()) == '.' && key.startsWith(prefix);
+  }
+
+  /**
+   * @param shardName Shard name
+   * @return File name of the shard without extension
+   */
+  static String getFileName(String shardName) {
+    return SlingI18nMap.validName(shardName);
+  }
+
+  /**
+   * Writes the index of the shards in JSON format. For each shard the name, the namespace prefix, the path of the
+   * shard file relative to the index file and the number of keys is listed.
+   * @param outputStream Output stream
+   * @param languageKey Language key
+   * @param shardFiles Relative paths of the shard files by shard name
+   * @param shardSizes Number of keys by shard name
+   * @param prettyPrint Pretty print JSON
+   * @throws IOException I/O exception
+   */
+  static void writeIndex(OutputStream outputStream, String languageKey, Map<String, String> shardFiles,
+      Map<String, Integer> shardSizes, boolean prettyPrint) throws IOException {
+    try (JsonGenerator generator = JsonUtil.createGenerator(outputStream, prettyPrint)) {
+      generator.writeStartObject();
+      generator.write("language", languageKey);
+      generator.writeStartArray("shards");
+      for (Map.Entry<String, String> shardFile : shardFiles.entrySet()) {
+        String shardName = shardFile.getKey();
+        generator.writeStartObject();
+        generator.write("name", shardName);
+        if (!StringUtils.equals(shardName, DEFAULT_SHARD)) {
+          generator.write("prefix", shardName + ".");
+        }
+        generator.write("file", shardFile.getValue());
+        generator.write("keys", shardSizes.get(shardName));
+        generator.writeEnd();
+      }
+      generator.writeEnd();
+      generator.writeEnd();
+    }
+    catch (JsonException ex) {
+      throw new IOException(ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Reads the relative paths of the shard files from an existing index file.
+   * @param indexFile Index file
+   * @return Relative paths of the shard files, empty if the file does not exist or is not a shard index
+   */
+  static List<String> readIndexFiles(File indexFile) {
+    List<String> files = new ArrayList<>();
+    if (!indexFile.isFile()) {
+      return files;
+    }
+    try {
+      JsonObject index = JsonUtil.fromString(new String(Files.readAllBytes(indexFile.toPath()), StandardCharsets.UTF_8));
+      JsonValue shards = index.get("shards");
+      if (shards instanceof JsonArray) {
+        for (JsonValue shard : (JsonArray)shards) {
+          JsonValue file = shard instanceof JsonObject ? ((JsonObject)shard).get("file") : null;
+          if (file instanceof JsonString) {
+            files.add(((JsonString)file).getString());
+          }
+        }
+      }
+    }
+    catch (IOException | JsonException ex) {
+      // previous output in a different format
+    }
+    return files;
+  }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.StringUtils;
+import org.codehaus.plexus.util.FileUtils;
+
+/**
+ * Resolves the fallback languages of i18n source files. The fallback languages are derived from the language
+ * key in the file name by removing the last segment separated by <code>_</code> or <code>-</code>, e.g.
+ * <code>de_CH</code> falls back to <code>de</code>, followed by an optional default fallback language.
+ * Fallback languages are only looked up in the same directory as the source file.
+ */
+final class LanguageFallback {
+
+  private final String fallbackLanguage;
+  private final Map<String, File> sourceFilesByLanguagePath = new HashMap<>();
+
+  /**
+   * @param sourceFiles All i18n source files
+   * @param fallbackLanguage Default fallback language for all languages, or null
+   */
+  LanguageFallback(Collection<File> sourceFiles, String fallbackLanguage) {
+    this.fallbackLanguage = StringUtils.trimToNull(fallbackLanguage);
+    for (File sourceFile : sourceFiles) {
+      // if multiple files exist for the same language the first one is used, they result in the same target file
+      sourceFilesByLanguagePath.putIfAbsent(getLanguagePath(sourceFile), sourceFile);
+    }
+  }
+
+  /**
+   * @param sourceFile Source file
+   * @return Existing source files of the fallback languages, nearest fallback language first
+   */
+  List<File> getFallbackSourceFiles(File sourceFile) {
+    List<File> fallbackSourceFiles = new ArrayList<>();
+    for (String languagePath : getFallbackLanguagePaths(sourceFile)) {
+      File fallbackSourceFile = sourceFilesByLanguagePath.get(languagePath);
+      if (fallbackSourceFile != null) {
+        fallbackSourceFiles.add(fallbackSourceFile);
+      }
+    }
+    return fallbackSourceFiles;
+  }
+
+  /**
+   * @param sourceFile Source file
+   * @return Paths of the fallback languages, existing or not, nearest fallback language first
+   */
+  List<String> getFallbackLanguagePaths(File sourceFile) {
+    String directory = sourceFile.getParent();
+    List<String> languagePaths = new ArrayList<>();
+    for (String languageKey : getFallbackLanguages(getLanguageKey(sourceFile), fallbackLanguage)) {
+      languagePaths.add(getLanguagePath(directory, languageKey));
+    }
+    return languagePaths;
+  }
+
+  /**
+   * @param sourceFile Source file
+   * @return Path identifying the language of the source file independent from the file extension
+   */
+  static String getLanguagePath(File sourceFile) {
+    return getLanguagePath(sourceFile.getParent(), getLanguageKey(sourceFile));
+  }
+
+  private static String getLanguagePath(String directory, String languageKey) {
+    return directory + File.separator + languageKey;
+  }
+
+  private static String getLanguageKey(File sourceFile) {
+    return FileUtils.removeExtension(sourceFile.getName());
+  }
+
+  /**
+   * @param languageKey Language key, e.g. <code>de_CH</code>
+   * @param fallbackLanguage Default fallback language, or null
+   * @return Fallback languages, nearest fallback language first
+   */
+  static List<String> getFallbackLanguages(String languageKey, String fallbackLanguage) {
+    List<String> fallbackLanguages = new ArrayList<>();
+    String parent = languageKey;
+    int separatorIndex;
+    while ((separatorIndex = StringUtils.lastIndexOfAny(parent, "_", "-")) > 0) {
+      parent = parent.substring(0, separatorIndex);
+      fallbackLanguages.add(parent);
+    }
+    if (fallbackLanguage != null && !StringUtils.equals(languageKey, fallbackLanguage)
+        && !fallbackLanguages.contains(fallbackLanguage)) {
+      fallbackLanguages.add(fallbackLanguage);
+    }
+    return fallbackLanguages;
+  }
+
+}
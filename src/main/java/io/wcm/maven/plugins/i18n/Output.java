@@ -0,0 +1,67 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+/**
+ * Output configured for the transform goal via the <code>outputs</code> parameter.
+ */
+public class Output {
+
+  /**
+   * Output format. Possible values: <code>JSON</code>, <code>JSON_PROPERTIES</code>,
+   * <code>JSON_PROPERTIES_SHARDED</code>, <code>XML</code>, <code>PROPERTIES</code>, <code>BINARY</code>.
+   */
+  private String format;
+
+  /**
+   * Relative target path for the generated resources. If not set the <code>target</code> parameter of the goal is
+   * used.
+   */
+  private String target;
+
+  /**
+   * @return Output format
+   */
+  public String getFormat() {
+    return this.format;
+  }
+
+  /**
+   * @param format Output format
+   */
+  public void setFormat(String format) {
+    this.format = format;
+  }
+
+  /**
+   * @return Relative target path
+   */
+  public String getTarget() {
+    return this.target;
+  }
+
+  /**
+   * @param target Relative target path
+   */
+  public void setTarget(String target) {
+    this.target = target;
+  }
+
+}
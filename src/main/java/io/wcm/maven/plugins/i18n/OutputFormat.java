@@ -34,6 +34,11 @@ enum OutputFormat {
    */
   JSON_PROPERTIES("json"),
 
+  /**
+   * Flat list of properties in JSON format, split into one file per key namespace with an index file.
+   */
+  JSON_PROPERTIES_SHARDED("json"),
+
   /**
    * JCR XML
    */
@@ -42,7 +47,12 @@ enum OutputFormat {
   /**
    * PROPERTIES
    */
-  PROPERTIES("properties");
+  PROPERTIES("properties"),
+
+  /**
+   * Sorted key table with string pool, see {@link BinaryI18nWriter}.
+   */
+  BINARY("bin");
 
   private final String fileExtension;
 
@@ -0,0 +1,50 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+/**
+ * Output format with the target path and the generated resources folder path it is written to,
+ * relative to the build directory of a project.
+ */
+final class OutputTarget {
+
+  private final OutputFormat format;
+  private final String target;
+  private final String generatedResourcesFolderPath;
+
+  OutputTarget(OutputFormat format, String target, String generatedResourcesFolderPath) {
+    this.format = format;
+    this.target = target;
+    this.generatedResourcesFolderPath = generatedResourcesFolderPath;
+  }
+
+  OutputFormat getFormat() {
+    return this.format;
+  }
+
+  String getTarget() {
+    return this.target;
+  }
+
+  String getGeneratedResourcesFolderPath() {
+    return this.generatedResourcesFolderPath;
+  }
+
+}
@@ -19,27 +19,44 @@
  */
 package io.wcm.maven.plugins.i18n;
 
+import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Properties;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
 
 import org.apache.commons.lang3.StringUtils;
-import org.jdom2.Document;
-import org.jdom2.Element;
 import org.jdom2.Namespace;
+import org.jdom2.Verifier;
 import org.jdom2.output.Format;
-import org.jdom2.output.XMLOutputter;
 
-import jakarta.json.Json;
-import jakarta.json.JsonObject;
-import jakarta.json.JsonObjectBuilder;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonGenerator;
+
+import io.wcm.maven.plugins.i18n.readers.I18nReader;
 
 /**
  * Helper class integrating i18n JSON generation into a sorted map.
@@ -61,6 +78,30 @@ class SlingI18nMap {
   private static final Namespace NAMESPACE_MIX = Namespace.getNamespace("mix", "http://www.jcp.org/jcr/mix/1.0");
   private static final Namespace NAMESPACE_NT = Namespace.getNamespace("nt", "http://www.jcp.org/jcr/nt/1.0");
 
+  private static final Format XML_FORMAT = Format.getPrettyFormat();
+
+  /**
+   * Separates the escaped key from the key when sorting keys by their escaped key, see {@link #validName(String)}.
+   */
+  private static final char ESCAPED_KEY_SEPARATOR = '\0';
+
+  private static final String PROPERTIES_LINE_SEPARATOR = System.lineSeparator();
+
+  private static final int ESCAPED_NAME_CACHE_MAX_SIZE = 10000;
+
+  /**
+   * Recently escaped names, the least recently used name is evicted when the maximum size is exceeded.
+   */
+  private static final Map<String, String> ESCAPED_NAME_CACHE = Collections.synchronizedMap(
+      new LinkedHashMap<String, String>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+          return size() > ESCAPED_NAME_CACHE_MAX_SIZE;
+        }
+      });
+
   private final String languageKey;
   private final SortedMap<String, String> properties;
 
@@ -68,8 +109,165 @@ class SlingI18nMap {
    * @param languageKey Language key
    */
   SlingI18nMap(String languageKey, Map<String, String> properties) {
+    this(languageKey, new TreeMap<>(properties));
+  }
+
+  private SlingI18nMap(String languageKey, SortedMap<String, String> properties) {
     this.languageKey = languageKey;
-    this.properties = new TreeMap<>(properties);
+    this.properties = properties;
+  }
+
+  /**
+   * Reads the i18n resources from source file directly into a sorted map, without intermediate copies.
+   * @param languageKey Language key
+   * @param reader I18n reader
+   * @param sourceFile Source file
+   * @return I18n map
+   * @throws IOException I/O exception
+   */
+  static SlingI18nMap read(String languageKey, I18nReader reader, File sourceFile) throws IOException {
+    return new SlingI18nMap(languageKey, readEntries(reader, sourceFile));
+  }
+
+  /**
+   * Reads the i18n resources from source file into a sorted map.
+   * @param languageKey Language key
+   * @param reader I18n reader
+   * @param sourceFile Source file
+   * @param parallelSort Sort the keys in parallel, see {@link #readEntries(I18nReader, File, boolean)}
+   * @return I18n map
+   * @throws IOException I/O exception
+   */
+  static SlingI18nMap read(String languageKey, I18nReader reader, File sourceFile, boolean parallelSort)
+      throws IOException {
+    return new SlingI18nMap(languageKey, readEntries(reader, sourceFile, parallelSort));
+  }
+
+  /**
+   * Reads the i18n resources from source file into a sorted map.
+   * @param reader I18n reader
+   * @param sourceFile Source file
+   * @return Sorted i18n entries
+   * @throws IOException I/O exception
+   */
+  static SortedMap<String, String> readEntries(I18nReader reader, File sourceFile) throws IOException {
+    SortedMap<String, String> properties = new TreeMap<>();
+    reader.read(sourceFile, properties::put);
+    return properties;
+  }
+
+  /**
+   * Reads the i18n resources from source file into a sorted map. For large files the entries can be collected in
+   * a hash map first, whose entries are sorted in parallel and copied to the sorted map in linear time, instead of
+   * inserting each entry into the sorted map on a single thread.
+   * @param reader I18n reader
+   * @param sourceFile Source file
+   * @param parallelSort Sort the keys in parallel
+   * @return Sorted i18n entries
+   * @throws IOException I/O exception
+   */
+  @SuppressWarnings("unchecked")
+  static SortedMap<String, String> readEntries(I18nReader reader, File sourceFile, boolean parallelSort)
+      throws IOException {
+    if (!parallelSort) {
+      return readEntries(reader, sourceFile);
+    }
+    Map<String, String> properties = new HashMap<>();
+    reader.read(sourceFile, properties::put);
+    Entry<String, String>[] entries = properties.entrySet().toArray(new Entry[0]);
+    Arrays.parallelSort(entries, Entry.comparingByKey());
+    return new TreeMap<>(new SortedEntries(entries));
+  }
+
+  /**
+   * Reads the i18n resources from source file and sorts them on disk if they exceed the given run size, see
+   * {@link ExternalSortedMap}. The temporary files have to be deleted with {@link #deleteTempFiles()}.
+   * @param languageKey Language key
+   * @param reader I18n reader
+   * @param sourceFile Source file
+   * @param tempDirectory Directory for temporary files
+   * @param maxRunBytes Maximum estimated heap usage of the entries sorted in memory
+   * @return I18n map
+   * @throws IOException I/O exception
+   */
+  static SlingI18nMap readExternal(String languageKey, I18nReader reader, File sourceFile, File tempDirectory,
+      long maxRunBytes) throws IOException {
+    return new SlingI18nMap(languageKey, ExternalSortedMap.sort(reader, sourceFile, tempDirectory, maxRunBytes));
+  }
+
+  /**
+   * Merges the sorted i18n entries of a language with the entries of its fallback languages. The entries are not
+   * copied, so the entries of a fallback language can be shared by multiple languages.
+   * @param languageKey Language key
+   * @param layers Sorted i18n entries of the language, followed by the entries of its fallback languages
+   *          with the nearest fallback language first
+   * @return I18n map
+   */
+  static SlingI18nMap merge(String languageKey, List<SortedMap<String, String>> layers) {
+    if (layers.size() == 1) {
+      return new SlingI18nMap(languageKey, layers.get(0));
+    }
+    return new SlingI18nMap(languageKey, new FallbackSortedMap(layers));
+  }
+
+  /**
+   * Splits the i18n entries into shards. The shards are views of the entries, also for entries sorted on disk.
+   * No entries are copied except those of the default shard.
+   * @param sharding Key sharding
+   * @return I18n maps by shard name, see {@link KeySharding#split(SortedMap)}
+   */
+  Map<String, SlingI18nMap> split(KeySharding sharding) {
+    Map<String, SlingI18nMap> shards = new LinkedHashMap<>();
+    for (Map.Entry<String, SortedMap<String, String>> shard : sharding.split(properties).entrySet()) {
+      shards.put(shard.getKey(), new SlingI18nMap(languageKey, shard.getValue()));
+    }
+    return shards;
+  }
+
+  /**
+   * @return Number of i18n entries
+   */
+  int size() {
+    return properties.size();
+  }
+
+  /**
+   * @return true if the entries are sorted on disk, see {@link #readExternal(String, I18nReader, File, File, long)}
+   */
+  boolean isExternal() {
+    return properties instanceof ExternalSortedMap;
+  }
+
+  /**
+   * @return Estimated heap usage of the entries, 0 if the entries are sorted on disk
+   */
+  long estimateHeapBytes() {
+    if (isExternal()) {
+      return 0;
+    }
+    return estimateHeapBytes(properties);
+  }
+
+  /**
+   * @param entries Entries held in memory
+   * @return Estimated heap usage of the entries
+   */
+  static long estimateHeapBytes(Map<String, String> entries) {
+    long bytes = 0;
+    for (Map.Entry<String, String> entry : entries.entrySet()) {
+      bytes += ExternalSortedMap.estimateHeapBytes(entry.getKey(), entry.getValue());
+    }
+    return bytes;
+  }
+
+  /**
+   * Deletes the temporary files of entries sorted on disk. The map must not be used afterwards.
+   * @throws IOException I/O exception
+   */
+  void deleteTempFiles() throws IOException {
+    if (isExternal()) {
+      ((ExternalSortedMap)properties).close();
+    }
   }
 
   /**
@@ -77,78 +275,235 @@ class SlingI18nMap {
    * @return JSON
    */
   public String getI18nJsonString() {
-    return JsonUtil.toString(buildI18nJson());
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = JsonUtil.createGenerator(writer)) {
+      writeI18nJson(generator);
+    }
+    return writer.toString();
   }
 
   /**
-   * Build i18n resource JSON in Sling i18n Message format.
+   * Write i18n resource JSON in Sling i18n Message format. The entries are streamed directly to the output,
+   * without building the JSON document in memory.
+   * @param outputStream Output stream
+   * @throws IOException I/O exception
+   */
+  public void writeI18nJson(OutputStream outputStream) throws IOException {
+    writeI18nJson(outputStream, true);
+  }
+
+  /**
+   * Write i18n resource JSON in Sling i18n Message format. The entries are streamed directly to the output,
+   * without building the JSON document in memory.
+   * @param outputStream Output stream
+   * @param prettyPrint Pretty print JSON, otherwise it is written without whitespace
+   * @throws IOException I/O exception
+   */
+  public void writeI18nJson(OutputStream outputStream, boolean prettyPrint) throws IOException {
+    try (JsonGenerator generator = JsonUtil.createGenerator(outputStream, prettyPrint)) {
+      writeI18nJson(generator);
+    }
+    catch (JsonException ex) {
+      throw new IOException(ex.getMessage(), ex);
+    }
+  }
+
+  /**
+   * Build i18n resource JSON as flat list of key/value pairs.
    * @return JSON
    */
   public String getI18nJsonPropertiesString() {
-    return JsonUtil.toString(buildI18nJsonProperties());
+    StringWriter writer = new StringWriter();
+    try (JsonGenerator generator = JsonUtil.createGenerator(writer)) {
+      writeI18nJsonProperties(generator);
+    }
+    return writer.toString();
   }
 
-  private JsonObject buildI18nJson() {
+  /**
+   * Write i18n resource JSON as flat list of key/value pairs. The entries are streamed directly to the output,
+   * without building the JSON document in memory.
+   * @param outputStream Output stream
+   * @throws IOException I/O exception
+   */
+  public void writeI18nJsonProperties(OutputStream outputStream) throws IOException {
+    writeI18nJsonProperties(outputStream, true);
+  }
 
-    // get root
-    JsonObjectBuilder jsonDocument = getMixLanguageJsonDocument();
+  /**
+   * Write i18n resource JSON as flat list of key/value pairs. The entries are streamed directly to the output,
+   * without building the JSON document in memory.
+   * @param outputStream Output stream
+   * @param prettyPrint Pretty print JSON, otherwise it is written without whitespace
+   * @throws IOException I/O exception
+   */
+  public void writeI18nJsonProperties(OutputStream outputStream, boolean prettyPrint) throws IOException {
+    try (JsonGenerator generator = JsonUtil.createGenerator(outputStream, prettyPrint)) {
+      writeI18nJsonProperties(generator);
+    }
+    catch (JsonException ex) {
+      throw new IOException(ex.getMessage(), ex);
+    }
+  }
 
-    // add entries
-    for (Entry<String, String> entry : properties.entrySet()) {
-      String key = entry.getKey();
-      String escapedKey = validName(key);
-      JsonObject value = getJsonI18nValue(key, entry.getValue(), !StringUtils.equals(key, escapedKey));
+  private void writeI18nJson(JsonGenerator generator) {
+    // write root
+    generator.writeStartObject();
+    writeMixLanguageJson(generator);
 
-      jsonDocument.add(escapedKey, value);
-    }
+    // write entries
+    forEachUniqueEscapedKey((key, escapedKey, value) -> {
+      generator.writeStartObject(escapedKey);
+      writeJsonI18nValue(generator, key, value, !StringUtils.equals(key, escapedKey));
+      generator.writeEnd();
+    });
 
-    // return result
-    return jsonDocument.build();
+    generator.writeEnd();
   }
 
-  private JsonObject buildI18nJsonProperties() {
-    JsonObjectBuilder jsonDocument = Json.createObjectBuilder();
+  private void writeI18nJsonProperties(JsonGenerator generator) {
+    generator.writeStartObject();
 
-    // add entries
+    // write entries
+    forEachUniqueEscapedKey((key, escapedKey, value) -> generator.write(escapedKey, value));
+
+    generator.writeEnd();
+  }
+
+  /**
+   * Iterates over all entries in sorted order, passing each escaped key only once.
+   * See {@link #getEscapedKeyCollisions()} for handling of keys resulting in the same escaped key.
+   * @param handler Entry handler
+   * @param <E> Exception type thrown by handler
+   * @throws E Exception thrown by handler
+   */
+  private <E extends Exception> void forEachUniqueEscapedKey(EscapedEntryHandler<E> handler) throws E {
+    Map<String, String> collisions = getEscapedKeyCollisions();
+    Set<String> handledCollisions = new HashSet<>();
     for (Entry<String, String> entry : properties.entrySet()) {
       String key = entry.getKey();
       String escapedKey = validName(key);
-      jsonDocument.add(escapedKey, entry.getValue());
+      String value = entry.getValue();
+      String collisionKey = collisions.get(escapedKey);
+      if (collisionKey != null) {
+        if (!handledCollisions.add(escapedKey)) {
+          continue;
+        }
+        key = collisionKey;
+        value = properties.get(collisionKey);
+      }
+      handler.handle(key, escapedKey, value);
     }
+  }
 
-    // return result
-    return jsonDocument.build();
+  /**
+   * Different keys may result in the same escaped key. In a JSON object or properties file each escaped key
+   * may only occur once: it is written at the position of its first occurrence with the value of the last key
+   * mapping to it, like it happens when adding the entries to a JSON object builder or properties.
+   * @return Map with escaped keys that occur more than once, mapped to the last key resulting in this escaped key
+   */
+  private Map<String, String> getEscapedKeyCollisions() {
+    if (isExternal()) {
+      try {
+        return getExternalEscapedKeyCollisions();
+      }
+      catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+    Map<String, String> lastKeyByEscapedKey = new HashMap<>();
+    Set<String> collisions = new HashSet<>();
+    for (String key : properties.keySet()) {
+      String escapedKey = validName(key);
+      if (!StringUtils.equals(key, escapedKey) && lastKeyByEscapedKey.put(escapedKey, key) != null) {
+        collisions.add(escapedKey);
+      }
+    }
+    if (lastKeyByEscapedKey.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    for (String key : properties.keySet()) {
+      // unescaped keys that collide with an escaped key
+      if (lastKeyByEscapedKey.containsKey(key)) {
+        collisions.add(key);
+        if (key.compareTo(lastKeyByEscapedKey.get(key)) > 0) {
+          lastKeyByEscapedKey.put(key, key);
+        }
+      }
+    }
+    lastKeyByEscapedKey.keySet().retainAll(collisions);
+    return lastKeyByEscapedKey;
   }
 
-  private JsonObjectBuilder getMixLanguageJsonDocument() {
-    JsonObjectBuilder root = Json.createObjectBuilder();
+  /**
+   * Gets the escaped key collisions of entries sorted on disk without holding all escaped keys in memory: the keys
+   * prefixed with their escaped key are sorted on disk, so all keys resulting in the same escaped key are adjacent,
+   * ordered by key. Only the collisions are held in memory.
+   * @return Map with escaped keys that occur more than once, mapped to the last key resulting in this escaped key
+   */
+  private Map<String, String> getExternalEscapedKeyCollisions() throws IOException {
+    // escaped keys are valid XML names, which do not contain the separator
+    SortedMap<String, String> sortedKeys = ((ExternalSortedMap)properties)
+        .sortKeys(key -> validName(key) + ESCAPED_KEY_SEPARATOR + key);
+    try {
+      Map<String, String> collisions = new HashMap<>();
+      String escapedKey = null;
+      String lastKey = null;
+      int keyCount = 0;
+      for (String sortedKey : sortedKeys.keySet()) {
+        int separatorIndex = sortedKey.indexOf(ESCAPED_KEY_SEPARATOR);
+        String keyEscapedKey = sortedKey.substring(0, separatorIndex);
+        if (!keyEscapedKey.equals(escapedKey)) {
+          if (keyCount > 1) {
+            collisions.put(escapedKey, lastKey);
+          }
+          escapedKey = keyEscapedKey;
+          keyCount = 0;
+        }
+        lastKey = sortedKey.substring(separatorIndex + 1);
+        keyCount++;
+      }
+      if (keyCount > 1) {
+        collisions.put(escapedKey, lastKey);
+      }
+      return collisions;
+    }
+    finally {
+      if (sortedKeys instanceof ExternalSortedMap) {
+        ((ExternalSortedMap)sortedKeys).close();
+      }
+    }
+  }
 
+  private void writeMixLanguageJson(JsonGenerator generator) {
     // add boiler plate
-    root.add("jcr:" + JCR_PRIMARY_TYPE, JCR_NODETYPE_FOLDER);
-    root.add("jcr:" + JCR_MIXIN_TYPES, Json.createArrayBuilder(JCR_MIX_LANGUAGE).build());
+    generator.write("jcr:" + JCR_PRIMARY_TYPE, JCR_NODETYPE_FOLDER);
+    writeJsonArray(generator, "jcr:" + JCR_MIXIN_TYPES, JCR_MIX_LANGUAGE);
 
     // add language
-    root.add("jcr:" + JCR_LANGUAGE, languageKey);
-
-    return root;
+    generator.write("jcr:" + JCR_LANGUAGE, languageKey);
   }
 
-  private JsonObject getJsonI18nValue(String key, String value, boolean generatedKeyProperty) {
-    JsonObjectBuilder valueNode = Json.createObjectBuilder();
-
+  private void writeJsonI18nValue(JsonGenerator generator, String key, String value, boolean generatedKeyProperty) {
     // add boiler plate
-    valueNode.add("jcr:" + JCR_PRIMARY_TYPE, JCR_NODETYPE_FOLDER);
-    valueNode.add("jcr:" + JCR_MIXIN_TYPES, Json.createArrayBuilder(SLING_MESSAGE_MIXIN_TYPE).build());
+    generator.write("jcr:" + JCR_PRIMARY_TYPE, JCR_NODETYPE_FOLDER);
+    writeJsonArray(generator, "jcr:" + JCR_MIXIN_TYPES, SLING_MESSAGE_MIXIN_TYPE);
 
     // add extra key attribute
     if (generatedKeyProperty) {
-      valueNode.add("sling:" + SLING_KEY, key);
+      generator.write("sling:" + SLING_KEY, key);
     }
 
     // add actual i18n value
-    valueNode.add("sling:" + SLING_MESSAGE, value);
+    generator.write("sling:" + SLING_MESSAGE, value);
+  }
 
-    return valueNode.build();
+  private static void writeJsonArray(JsonGenerator generator, String name, List<String> values) {
+    generator.writeStartArray(name);
+    for (String value : values) {
+      generator.write(value);
+    }
+    generator.writeEnd();
   }
 
   /**
@@ -156,88 +511,187 @@ class SlingI18nMap {
    * @return XML
    */
   public String getI18nXmlString() {
-    Format format = Format.getPrettyFormat();
-    XMLOutputter outputter = new XMLOutputter(format);
-    return outputter.outputString(buildI18nXml());
+    StringWriter writer = new StringWriter();
+    try {
+      writeI18nXml(writer, true);
+    }
+    catch (IOException ex) {
+      throw new IllegalArgumentException(ex.getMessage(), ex);
+    }
+    return writer.toString();
   }
 
-  private Document buildI18nXml() {
+  /**
+   * Write i18n resource XML in Sling i18n Message format. The entries are streamed directly to the output,
+   * without building the XML document in memory.
+   * @param outputStream Output stream
+   * @throws IOException I/O exception
+   */
+  public void writeI18nXml(OutputStream outputStream) throws IOException {
+    writeI18nXml(outputStream, true);
+  }
 
-    // get root
-    Document xmlDocument = getMixLanguageXmlDocument();
+  /**
+   * Write i18n resource XML in Sling i18n Message format. The entries are streamed directly to the output,
+   * without building the XML document in memory.
+   * @param outputStream Output stream
+   * @param prettyPrint Pretty print XML, otherwise it is written without indentation and line breaks
+   * @throws IOException I/O exception
+   */
+  public void writeI18nXml(OutputStream outputStream, boolean prettyPrint) throws IOException {
+    Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+    writeI18nXml(writer, prettyPrint);
+    writer.flush();
+  }
+
+  /**
+   * Writes the XML with the same formatting and escaping as JDOM's {@link org.jdom2.output.XMLOutputter} in pretty format.
+   * An XML stream writer is not used as it does not escape line breaks in attribute values, which would get lost
+   * due to attribute value normalization when the XML is parsed.
+   * @param writer Writer
+   * @param prettyPrint Pretty print XML, otherwise it is written without indentation and line breaks
+   * @throws IOException I/O exception
+   */
+  private void writeI18nXml(Writer writer, boolean prettyPrint) throws IOException {
+    String lineSeparator = prettyPrint ? XML_FORMAT.getLineSeparator() : "";
+    String indent = prettyPrint ? XML_FORMAT.getIndent() : "";
+
+    writer.write("<?xml version=\"1.0\" encoding=\"" + XML_FORMAT.getEncoding() + "\"?>");
+    writer.write(lineSeparator);
+
+    // write root
+    writer.write("<" + NAMESPACE_JCR.getPrefix() + ":root");
+    writeXmlNamespaceDeclaration(writer, NAMESPACE_JCR);
+    writeXmlNamespaceDeclaration(writer, NAMESPACE_MIX);
+    writeXmlNamespaceDeclaration(writer, NAMESPACE_NT);
+    writeXmlNamespaceDeclaration(writer, NAMESPACE_SLING);
+    writeMixLanguageXml(writer);
+    if (properties.isEmpty()) {
+      writer.write(" />");
+      writer.write(lineSeparator);
+      return;
+    }
+    writer.write(">");
+    writer.write(lineSeparator);
 
-    // add entries
+    // write entries
     for (Entry<String, String> entry : properties.entrySet()) {
       String key = entry.getKey();
       String escapedKey = validName(key);
-      Element value = getXmlI18nValue(escapedKey, key, entry.getValue(), !StringUtils.equals(key, escapedKey));
-
-      xmlDocument.getRootElement().addContent(value);
+      String invalidReason = Verifier.checkElementName(escapedKey);
+      if (invalidReason != null) {
+        throw new IOException("Invalid XML element name '" + escapedKey + "' for i18n key '" + key + "': " + invalidReason);
+      }
+      writer.write(indent);
+      writer.write("<" + escapedKey);
+      writeXmlI18nValue(writer, key, entry.getValue(), !StringUtils.equals(key, escapedKey));
+      writer.write(" />");
+      writer.write(lineSeparator);
     }
 
-    // return result
-    return xmlDocument;
+    writer.write("</" + NAMESPACE_JCR.getPrefix() + ":root>");
+    writer.write(lineSeparator);
   }
 
-  private Document getMixLanguageXmlDocument() {
-    Document doc = new Document();
-    Element root = new Element("root", NAMESPACE_JCR);
-    root.addNamespaceDeclaration(NAMESPACE_JCR);
-    root.addNamespaceDeclaration(NAMESPACE_MIX);
-    root.addNamespaceDeclaration(NAMESPACE_NT);
-    root.addNamespaceDeclaration(NAMESPACE_SLING);
-    doc.setRootElement(root);
-
+  private void writeMixLanguageXml(Writer writer) throws IOException {
     // add boiler plate
-    root.setAttribute(JCR_PRIMARY_TYPE, JCR_NODETYPE_FOLDER, NAMESPACE_JCR);
-    root.setAttribute(JCR_MIXIN_TYPES, "[" + StringUtils.join(JCR_MIX_LANGUAGE, ",") + "]", NAMESPACE_JCR);
+    writeXmlAttribute(writer, NAMESPACE_JCR, JCR_PRIMARY_TYPE, JCR_NODETYPE_FOLDER);
+    writeXmlAttribute(writer, NAMESPACE_JCR, JCR_MIXIN_TYPES, "[" + StringUtils.join(JCR_MIX_LANGUAGE, ",") + "]");
 
     // add language
-    root.setAttribute(JCR_LANGUAGE, languageKey, NAMESPACE_JCR);
-
-    return doc;
+    writeXmlAttribute(writer, NAMESPACE_JCR, JCR_LANGUAGE, languageKey);
   }
 
-  private Element getXmlI18nValue(String escapedKey, String key, String value, boolean generatedKeyProperty) {
-    Element valueNode = new Element(escapedKey);
-
+  private void writeXmlI18nValue(Writer writer, String key, String value, boolean generatedKeyProperty) throws IOException {
     // add boiler plate
-    valueNode.setAttribute(JCR_PRIMARY_TYPE, JCR_NODETYPE_FOLDER, NAMESPACE_JCR);
-    valueNode.setAttribute(JCR_MIXIN_TYPES, "[" + StringUtils.join(SLING_MESSAGE_MIXIN_TYPE, ",") + "]", NAMESPACE_JCR);
+    writeXmlAttribute(writer, NAMESPACE_JCR, JCR_PRIMARY_TYPE, JCR_NODETYPE_FOLDER);
+    writeXmlAttribute(writer, NAMESPACE_JCR, JCR_MIXIN_TYPES, "[" + StringUtils.join(SLING_MESSAGE_MIXIN_TYPE, ",") + "]");
 
     // add extra key attribute
     if (generatedKeyProperty) {
-      valueNode.setAttribute(SLING_KEY, key, NAMESPACE_SLING);
+      writeXmlAttribute(writer, NAMESPACE_SLING, SLING_KEY, key);
     }
 
     // add actual i18n value
-    valueNode.setAttribute(SLING_MESSAGE, value, NAMESPACE_SLING);
+    writeXmlAttribute(writer, NAMESPACE_SLING, SLING_MESSAGE, value);
+  }
 
-    return valueNode;
+  private static void writeXmlNamespaceDeclaration(Writer writer, Namespace namespace) throws IOException {
+    writeXmlAttribute(writer, "xmlns:" + namespace.getPrefix(), namespace.getURI());
+  }
+
+  private static void writeXmlAttribute(Writer writer, Namespace namespace, String name, String value) throws IOException {
+    writeXmlAttribute(writer, namespace.getPrefix() + ":" + name, value);
+  }
+
+  private static void writeXmlAttribute(Writer writer, String qualifiedName, String value) throws IOException {
+    writer.write(" ");
+    writer.write(qualifiedName);
+    writer.write("=\"");
+    writer.write(Format.escapeAttribute(XML_FORMAT.getEscapeStrategy(), value));
+    writer.write("\"");
   }
 
   /**
    * Creates a valid node name. Replaces all chars not in a-z, A-Z and 0-9 or '_', '.' with '-'.
+   * German umlauts and sharp s are replaced with their two-letter transcription.
+   * Values that are already valid node names are returned as-is. Recently escaped values are cached, as all languages
+   * share the same key set.
    * @param value String to be labelized.
    * @return The labelized string.
    */
-  private static String validName(String value) {
-
-    // replace some special chars first
-    String text = value;
-    text = StringUtils.replace(text, "ä", "ae");
-    text = StringUtils.replace(text, "ö", "oe");
-    text = StringUtils.replace(text, "ü", "ue");
-    text = StringUtils.replace(text, "ß", "ss");
-
-    // replace all invalid chars
-    StringBuilder sb = new StringBuilder(text);
-    for (int i = 0; i < sb.length(); i++) {
-      char ch = sb.charAt(i);
-      if (!((ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9')
-          || (ch == '_') || (ch == '.'))) {
-        ch = '-';
-        sb.setCharAt(i, ch);
+  static String validName(String value) {
+    int firstInvalidIndex = indexOfInvalidNameChar(value);
+    if (firstInvalidIndex < 0) {
+      return value;
+    }
+    String escaped = ESCAPED_NAME_CACHE.get(value);
+    if (escaped == null) {
+      escaped = escapeName(value, firstInvalidIndex);
+      ESCAPED_NAME_CACHE.put(value, escaped);
+    }
+    return escaped;
+  }
+
+  private static int indexOfInvalidNameChar(String value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (!isValidNameChar(value.charAt(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isValidNameChar(char ch) {
+    return (ch >= 'A' && ch <= 'Z') || (ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9')
+        || (ch == '_') || (ch == '.');
+  }
+
+  private static String escapeName(String value, int firstInvalidIndex) {
+    StringBuilder sb = new StringBuilder(value.length() + 8);
+    sb.append(value, 0, firstInvalidIndex);
+    for (int i = firstInvalidIndex; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (isValidNameChar(ch)) {
+        sb.append(ch);
+        continue;
+      }
+      switch (ch) {
+        case '\u00e4':
+          sb.append("ae");
+          break;
+        case '\u00f6':
+          sb.append("oe");
+          break;
+        case '\u00fc':
+          sb.append("ue");
+          break;
+        case '\u00df':
+          sb.append("ss");
+          break;
+        default:
+          sb.append('-');
+          break;
       }
     }
     return sb.toString();
@@ -245,24 +699,254 @@ class SlingI18nMap {
 
   /**
    * Build i18n resource PROPERTIES.
-   * @return JSON
+   * @return Properties file content
    */
   public String getI18nPropertiesString() throws IOException {
-    // Load all properties
-    Properties i18nProps = new Properties();
-
-    // add entries
-    for (Entry<String, String> entry : properties.entrySet()) {
-      String key = entry.getKey();
-      String escapedKey = validName(key);
-      i18nProps.put(escapedKey, entry.getValue());
-    }
-
     try (ByteArrayOutputStream outStream = new ByteArrayOutputStream()) {
-      i18nProps.store(outStream, null);
+      writeI18nProperties(outStream);
       // Property files are always ISO 8859 encoded
       return outStream.toString(StandardCharsets.ISO_8859_1.name());
     }
   }
 
+  /**
+   * Write i18n resource PROPERTIES. The entries are escaped the same way as {@link Properties#store(OutputStream, String)}
+   * does, but are written in sorted order and without timestamp comment, so the output only changes if the
+   * i18n resources change.
+   * @param outputStream Output stream
+   * @throws IOException I/O exception
+   */
+  public void writeI18nProperties(OutputStream outputStream) throws IOException {
+    // Property files are always ISO 8859 encoded
+    Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.ISO_8859_1));
+    StringBuilder line = new StringBuilder();
+    forEachUniqueEscapedKey((key, escapedKey, value) -> {
+      line.setLength(0);
+      escapeProperty(line, escapedKey, true);
+      line.append('=');
+      escapeProperty(line, value, false);
+      line.append(PROPERTIES_LINE_SEPARATOR);
+      writer.write(line.toString());
+    });
+    writer.flush();
+  }
+
+  /**
+   * Write i18n resource in binary format, see {@link BinaryI18nWriter}.
+   * @param outputStream Output stream
+   * @param perfectHash Whether to write a perfect hash table of the keys
+   * @return false if a perfect hash table was requested, but no perfect hash was found for the keys
+   * @throws IOException I/O exception
+   */
+  public boolean writeI18nBinary(OutputStream outputStream, boolean perfectHash) throws IOException {
+    return BinaryI18nWriter.write(outputStream, languageKey, properties, perfectHash);
+  }
+
+  /**
+   * Write the key-level delta to the previous build and the digest of the entries, see {@link I18nDelta}.
+   * @param previousDigestFile Digest file of the previous build, may not exist
+   * @param deltaOutputStream Output stream for the delta
+   * @param digestOutputStream Output stream for the digest
+   * @param prettyPrint Pretty print JSON, otherwise it is written without whitespace
+   * @throws IOException I/O exception
+   */
+  void writeDelta(File previousDigestFile, OutputStream deltaOutputStream, OutputStream digestOutputStream,
+      boolean prettyPrint) throws IOException {
+    I18nDelta.write(languageKey, properties, previousDigestFile, deltaOutputStream, digestOutputStream, prettyPrint);
+  }
+
+  /**
+   * Escapes key or value for a properties file, like {@link Properties#store(OutputStream, String)} does.
+   * @param sb String builder to append to
+   * @param value Key or value
+   * @param escapeSpace Whether to escape all spaces (for keys) or only a leading space (for values)
+   */
+  private static void escapeProperty(StringBuilder sb, String value, boolean escapeSpace) {
+    for (int i = 0; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (ch > 61 && ch < 127) {
+        if (ch == '\\') {
+          sb.append("\\\\");
+        }
+        else {
+          sb.append(ch);
+        }
+        continue;
+      }
+      switch (ch) {
+        case ' ':
+          if (i == 0 || escapeSpace) {
+            sb.append('\\');
+          }
+          sb.append(' ');
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\f':
+          sb.append("\\f");
+          break;
+        case '=':
+        case ':':
+        case '#':
+        case '!':
+          sb.append('\\').append(ch);
+          break;
+        default:
+          if (ch < 0x0020 || ch > 0x007e) {
+            sb.append("\\u");
+            String hex = Integer.toHexString(ch).toUpperCase(Locale.ROOT);
+            for (int pad = hex.length(); pad < 4; pad++) {
+              sb.append('0');
+            }
+            sb.append(hex);
+          }
+          else {
+            sb.append(ch);
+          }
+          break;
+      }
+    }
+  }
+
+  /**
+   * Handles a single i18n entry.
+   * @param <E> Exception type
+   */
+  @FunctionalInterface
+  private interface EscapedEntryHandler<E extends Exception> {
+
+    void handle(String key, String escapedKey, String value) throws E;
+
+  }
+
+  /**
+   * Read-only sorted map view of a range of an array of entries sorted by key, used to copy the entries to a
+   * {@link TreeMap} in linear time. Lookups and range views use binary search on the array.
+   */
+  static final class SortedEntries extends AbstractMap<String, String> implements SortedMap<String, String> {
+
+    private final Entry<String, String>[] entries;
+    private final int fromIndex;
+    private final int toIndex;
+
+    SortedEntries(Entry<String, String>[] entries) {
+      this(entries, 0, entries.length);
+    }
+
+    private SortedEntries(Entry<String, String>[] entries, int fromIndex, int toIndex) {
+      this.entries = entries;
+      this.fromIndex = fromIndex;
+      this.toIndex = toIndex;
+    }
+
+    @Override
+    public Set<Entry<String, String>> entrySet() {
+      return new AbstractSet<>() {
+        @Override
+        public Iterator<Entry<String, String>> iterator() {
+          return Collections.unmodifiableList(Arrays.asList(entries).subList(fromIndex, toIndex)).iterator();
+        }
+
+        @Override
+        public int size() {
+          return toIndex - fromIndex;
+        }
+      };
+    }
+
+    @Override
+    public int size() {
+      return toIndex - fromIndex;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return indexOf(key) >= 0;
+    }
+
+    @Override
+    public String get(Object key) {
+      int index = indexOf(key);
+      return index >= 0 ? entries[index].getValue() : null;
+    }
+
+    /**
+     * @param key Key
+     * @return Index of the entry with the given key, or a negative value if the range does not contain the key
+     */
+    private int indexOf(Object key) {
+      if (!(key instanceof String)) {
+        return -1;
+      }
+      int index = insertionIndex((String)key);
+      return index < toIndex && entries[index].getKey().equals(key) ? index : -1;
+    }
+
+    /**
+     * @param key Key
+     * @return Index of the first entry in the range whose key is not less than the given key
+     */
+    private int insertionIndex(String key) {
+      int low = fromIndex;
+      int high = toIndex;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (entries[mid].getKey().compareTo(key) < 0) {
+          low = mid + 1;
+        }
+        else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    @Override
+    public Comparator<? super String> comparator() {
+      return null;
+    }
+
+    @Override
+    public String firstKey() {
+      if (fromIndex == toIndex) {
+        throw new NoSuchElementException();
+      }
+      return entries[fromIndex].getKey();
+    }
+
+    @Override
+    public String lastKey() {
+      if (fromIndex == toIndex) {
+        throw new NoSuchElementException();
+      }
+      return entries[toIndex - 1].getKey();
+    }
+
+    @Override
+    public SortedMap<String, String> subMap(String fromKey, String toKey) {
+      if (fromKey.compareTo(toKey) > 0) {
+        throw new IllegalArgumentException("fromKey > toKey");
+      }
+      return new SortedEntries(entries, insertionIndex(fromKey), insertionIndex(toKey));
+    }
+
+    @Override
+    public SortedMap<String, String> headMap(String toKey) {
+      return new SortedEntries(entries, fromIndex, insertionIndex(toKey));
+    }
+
+    @Override
+    public SortedMap<String, String> tailMap(String fromKey) {
+      return new SortedEntries(entries, insertionIndex(fromKey), toIndex);
+    }
+
+  }
+
 }
@@ -0,0 +1,181 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a directory tree for changed files. Directories created in the tree are watched as well.
+ * Bursts of events - e.g. an editor writing a temporary file and renaming it - are collected until no further
+ * event arrives within the debounce time, and reported as a single set of files.
+ * The watcher keeps track of the existing files, so files of a deleted or moved directory are reported as well, and
+ * files deleted while events were lost.
+ */
+final class SourceWatcher implements Closeable {
+
+  private final Path directory;
+  private final WatchService watchService;
+  private final Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+  private final Set<File> knownFiles = new HashSet<>();
+
+  /**
+   * @param directory Root directory of the tree to watch
+   * @throws IOException I/O exception
+   */
+  SourceWatcher(File directory) throws IOException {
+    this.directory = directory.toPath();
+    this.watchService = this.directory.getFileSystem().newWatchService();
+    registerTree(this.directory, new TreeSet<>());
+  }
+
+  /**
+   * Waits until at least one file in the tree is created, modified or deleted, and collects further changes
+   * until no event is received within the debounce time.
+   * Whether a file was deleted can be checked with {@link File#exists()} on the returned files.
+   * If events were lost, all existing files in the tree are returned, and all files deleted since the last call.
+   * @param debounceMillis Debounce time in milliseconds
+   * @return Changed files in the order of their paths
+   * @throws IOException I/O exception
+   * @throws InterruptedException Interrupted while waiting
+   */
+  Set<File> take(long debounceMillis) throws IOException, InterruptedException {
+    Set<File> files = new TreeSet<>();
+    WatchKey key = watchService.take();
+    while (key != null) {
+      processEvents(key, files);
+      key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+    }
+    return files;
+  }
+
+  private void processEvents(WatchKey key, Set<File> files) throws IOException {
+    Path watchedDirectory = watchedDirectories.get(key);
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == OVERFLOW) {
+        rescan(files);
+        continue;
+      }
+      if (watchedDirectory == null) {
+        continue;
+      }
+      Path path = watchedDirectory.resolve((Path)event.context());
+      if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+        // files may already have been created before the new directory is watched
+        registerTree(path, files);
+      }
+      else if (event.kind() == ENTRY_DELETE) {
+        // a deleted or moved directory is reported by a single event for the directory
+        files.add(path.toFile());
+        removeKnownFiles(path, files);
+      }
+      else {
+        files.add(path.toFile());
+        if (Files.isRegularFile(path)) {
+          knownFiles.add(path.toFile());
+        }
+      }
+    }
+    if (!key.reset()) {
+      watchedDirectories.remove(key);
+      if (watchedDirectory != null) {
+        removeKnownFiles(watchedDirectory, files);
+      }
+    }
+  }
+
+  /**
+   * Watches the whole tree again after events were lost. Known files that no longer exist are collected as well.
+   * @param files Collects all existing and deleted files of the tree
+   */
+  private void rescan(Set<File> files) throws IOException {
+    Set<File> previousFiles = new HashSet<>(knownFiles);
+    knownFiles.clear();
+    registerTree(directory, files);
+    previousFiles.removeAll(knownFiles);
+    files.addAll(previousFiles);
+  }
+
+  /**
+   * Forgets the known files of a deleted path and all paths below.
+   * @param path Deleted file or directory
+   * @param files Collects the deleted files
+   */
+  private void removeKnownFiles(Path path, Set<File> files) {
+    Iterator<File> knownFileIterator = knownFiles.iterator();
+    while (knownFileIterator.hasNext()) {
+      File knownFile = knownFileIterator.next();
+      if (knownFile.toPath().startsWith(path)) {
+        files.add(knownFile);
+        knownFileIterator.remove();
+      }
+    }
+  }
+
+  /**
+   * Watches all directories of the given tree.
+   * @param root Root directory
+   * @param files Collects all existing files of the tree, they are known files afterwards
+   */
+  private void registerTree(Path root, Set<File> files) throws IOException {
+    Files.walkFileTree(root, new SimpleFileVisitor<>() {
+      @Override
+      public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+        WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        watchedDirectories.put(key, dir);
+        return FileVisitResult.CONTINUE;
+      }
+
+      @Override
+      public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+        files.add(file.toFile());
+        knownFiles.add(file.toFile());
+        return FileVisitResult.CONTINUE;
+      }
+    });
+  }
+
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+  }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Transform the i18n resources of all projects of a multi-module build in a single parallel pass, instead of
+ * executing the <code>transform</code> goal in each project one after another.
+ * <p>
+ * The goal has to be executed in the root project of the reactor, and must not be inherited by the modules.
+ * Because the modules are built after the root project, the generated resources of each module are written to
+ * <code>target/i18n-aggregate/&lt;groupId&gt;/&lt;artifactId&gt;</code> of the root project, so they are not
+ * removed by a <code>clean</code> of the module. They are added as resource to the module like the
+ * <code>transform</code> goal does. Projects without i18n source files are skipped.
+ * </p>
+ * <p>
+ * The build context of the root project only tracks changes within the root project, so the goal always
+ * transforms all source files of all modules. Source files that did not change since the last build are still
+ * skipped using the build cache.
+ * </p>
+ */
+@Mojo(name = "transform-aggregate", defaultPhase = LifecyclePhase.GENERATE_RESOURCES, aggregator = true,
+    threadSafe = true)
+public class TransformAggregateMojo extends AbstractTransformMojo {
+
+  /**
+   * Source path containing the i18n source .properties or .xml files, relative to the base directory
+   * of each project.
+   */
+  @Parameter(defaultValue = "src/main/resources/i18n")
+  private String source;
+
+  @Parameter(property = "project", required = true, readonly = true)
+  private MavenProject project;
+
+  @Parameter(defaultValue = "${reactorProjects}", required = true, readonly = true)
+  private List<MavenProject> reactorProjects;
+
+  @Override
+  List<I18nTransformer> createTransformers(List<OutputTarget> outputTargets) throws IOException {
+    File aggregateDirectory = new File(project.getBuild().getDirectory(), "i18n-aggregate");
+    List<I18nTransformer> transformers = new ArrayList<>();
+    for (MavenProject reactorProject : reactorProjects) {
+      File sourceDirectory = new File(reactorProject.getBasedir(), source);
+      if (!sourceDirectory.isDirectory()) {
+        getLog().debug("Skipped " + reactorProject.getArtifactId() + ", could not find directory at '"
+            + sourceDirectory.getPath() + "'");
+        continue;
+      }
+      File buildDirectory = new File(aggregateDirectory,
+          reactorProject.getGroupId() + "/" + reactorProject.getArtifactId());
+      transformers.add(new I18nTransformer(this, reactorProject, sourceDirectory.getCanonicalFile(),
+          buildDirectory, outputTargets));
+    }
+    return transformers;
+  }
+
+  /**
+   * Changes reported by the root project's build context do not cover the modules, so always do a full build.
+   */
+  @Override
+  boolean isIncrementalBuild() {
+    return false;
+  }
+
+  @Override
+  void logSummary(I18nTransformer transformer, String summary) {
+    getLog().info(transformer.getProject().getArtifactId() + ": " + summary);
+  }
+
+}
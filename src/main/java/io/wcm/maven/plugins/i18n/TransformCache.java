@@ -0,0 +1,167 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Persistent index of content hashes of the i18n source files transformed in previous builds.
+ * A source file can be skipped if neither its content nor the plugin configuration has changed since.
+ * The index is thread-safe.
+ */
+final class TransformCache {
+
+  private static final String PROPERTY_CONFIGURATION = "configuration";
+  private static final String PROPERTY_PREFIX_SOURCE = "source.";
+  private static final String HASH_ALGORITHM = "SHA-256";
+
+  private final File cacheFile;
+  private final String configuration;
+  private final Map<String, String> sourceHashes = new ConcurrentHashMap<>();
+
+  /**
+   * @param cacheFile File the cache index is persisted to
+   * @param configuration Fingerprint of the plugin configuration affecting the generated output
+   */
+  TransformCache(File cacheFile, String configuration) {
+    this.cacheFile = cacheFile;
+    this.configuration = configuration;
+  }
+
+  /**
+   * Loads the cache index from the cache file. If the file does not exist or was written with a different
+   * configuration the cache starts empty.
+   * @throws IOException I/O exception
+   */
+  void load() throws IOException {
+    sourceHashes.clear();
+    if (!cacheFile.exists()) {
+      return;
+    }
+    Properties props = new Properties();
+    try (InputStream is = new FileInputStream(cacheFile)) {
+      props.load(is);
+    }
+    if (!StringUtils.equals(configuration, props.getProperty(PROPERTY_CONFIGURATION))) {
+      return;
+    }
+    for (String name : props.stringPropertyNames()) {
+      if (StringUtils.startsWith(name, PROPERTY_PREFIX_SOURCE)) {
+        sourceHashes.put(StringUtils.substringAfter(name, PROPERTY_PREFIX_SOURCE), props.getProperty(name));
+      }
+    }
+  }
+
+  /**
+   * Writes the cache index to the cache file.
+   * @throws IOException I/O exception
+   */
+  void save() throws IOException {
+    Properties props = new Properties();
+    props.setProperty(PROPERTY_CONFIGURATION, configuration);
+    for (Map.Entry<String, String> entry : sourceHashes.entrySet()) {
+      props.setProperty(PROPERTY_PREFIX_SOURCE + entry.getKey(), entry.getValue());
+    }
+    File parentDirectory = cacheFile.getParentFile();
+    if (!parentDirectory.exists() && !parentDirectory.mkdirs()) {
+      throw new IOException("Unable to create directory: " + parentDirectory.getPath());
+    }
+    try (OutputStream os = new FileOutputStream(cacheFile)) {
+      props.store(os, null);
+    }
+  }
+
+  /**
+   * @param sourcePath Relative path of source file
+   * @param hash Current content hash of source file
+   * @return true if the source file was transformed with the same content and configuration before
+   */
+  boolean isUpToDate(String sourcePath, String hash) {
+    return StringUtils.equals(hash, sourceHashes.get(sourcePath));
+  }
+
+  /**
+   * Records the content hash of a transformed source file.
+   * @param sourcePath Relative path of source file
+   * @param hash Content hash of source file
+   */
+  void put(String sourcePath, String hash) {
+    sourceHashes.put(sourcePath, hash);
+  }
+
+  /**
+   * Removes a source file from the index.
+   * @param sourcePath Relative path of source file
+   */
+  void remove(String sourcePath) {
+    sourceHashes.remove(sourcePath);
+  }
+
+  /**
+   * Removes all source files from the index that are not contained in the given list.
+   * @param sourcePaths Relative paths of all existing source files
+   */
+  void retain(Collection<String> sourcePaths) {
+    sourceHashes.keySet().retainAll(sourcePaths);
+  }
+
+  /**
+   * Calculates the content hash of the given file.
+   * @param file File
+   * @return Hash as hex string
+   * @throws IOException I/O exception
+   */
+  static String hash(File file) throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance(HASH_ALGORITHM);
+    }
+    catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("Hash algorithm not supported: " + HASH_ALGORITHM, ex);
+    }
+    byte[] buffer = new byte[8192];
+    try (InputStream is = new FileInputStream(file)) {
+      int length;
+      while ((length = is.read(buffer)) != -1) {
+        digest.update(buffer, 0, length);
+      }
+    }
+    StringBuilder hex = new StringBuilder();
+    for (byte b : digest.digest()) {
+      hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+      hex.append(Character.forDigit(b & 0xf, 16));
+    }
+    return hex.toString();
+  }
+
+}
@@ -0,0 +1,125 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.apache.maven.plugin.MojoFailureException;
+
+import io.wcm.maven.plugins.i18n.I18nTransformer.TransformJob;
+import io.wcm.maven.plugins.i18n.I18nTransformer.TransformResult;
+
+/**
+ * Transforms source files in the stages read, serialize and write. Reading and serializing is done by the transform
+ * threads, writing the target files by a separate pool of writer threads, so parsing and serializing of the next
+ * files overlaps with the disk I/O of the previous ones.
+ * The stages are connected by the work queues of the thread pools, their size is bounded by an
+ * {@link InFlightBudget}: a source file is only submitted when the estimated heap usage of its parsed entries fits
+ * into the budget. After reading it holds the estimated size of the parsed entries, and after serializing the size
+ * of the serialized output kept in memory until the target files are written. Parsed entries of fallback languages
+ * retained for other languages are counted against the budget as well.
+ */
+final class TransformPipeline implements AutoCloseable {
+
+  private final ExecutorService transformExecutor;
+  private final ExecutorService writeExecutor;
+  private final InFlightBudget budget;
+
+  /**
+   * @param threadCount Number of transform threads, and of writer threads
+   * @param maxInFlightBytes Maximum number of bytes of parsed entries and serialized output in flight
+   */
+  TransformPipeline(int threadCount, long maxInFlightBytes) {
+    this.transformExecutor = Executors.newFixedThreadPool(threadCount);
+    this.writeExecutor = Executors.newFixedThreadPool(threadCount);
+    this.budget = new InFlightBudget(maxInFlightBytes);
+  }
+
+  /**
+   * Submits a source file to the pipeline. Blocks until the estimated heap usage of the source file fits into the
+   * in-flight budget.
+   * @param transformer Transformer of the source file
+   * @param file Source file
+   * @param predecessor Transformation that has to be completed before the source file is read, e.g. of another
+   *          source file writing the same target files, or null
+   * @return Transform result
+   * @throws InterruptedException Interrupted while waiting for the in-flight budget
+   */
+  CompletableFuture<TransformResult> submit(I18nTransformer transformer, File file,
+      CompletableFuture<?> predecessor) throws InterruptedException {
+    long readBytes = transformer.estimateReadBytes(file);
+    budget.acquire(readBytes);
+    AtomicLong inFlightBytes = new AtomicLong(readBytes);
+    CompletableFuture<File> start = predecessor != null
+        ? predecessor.handle((result, ex) -> file)
+        : CompletableFuture.completedFuture(file);
+    return start
+        .thenApplyAsync(stage(sourceFile -> {
+          TransformJob job = transformer.read(sourceFile, budget);
+          resize(inFlightBytes, job.getParsedBytes());
+          return job;
+        }), transformExecutor)
+        .thenApplyAsync(stage(job -> {
+          TransformJob serializedJob = transformer.serialize(job);
+          resize(inFlightBytes, serializedJob.getSerializedBytes());
+          return serializedJob;
+        }), transformExecutor)
+        .thenApplyAsync(stage(transformer::write), writeExecutor)
+        .whenComplete((result, ex) -> budget.release(inFlightBytes.get()));
+  }
+
+  private void resize(AtomicLong inFlightBytes, long bytes) {
+    budget.resize(inFlightBytes.getAndSet(bytes), bytes);
+  }
+
+  private static <T, R> Function<T, R> stage(Stage<T, R> stage) {
+    return input -> {
+      try {
+        return stage.apply(input);
+      }
+      catch (MojoFailureException ex) {
+        throw new CompletionException(ex);
+      }
+    };
+  }
+
+  @Override
+  public void close() {
+    transformExecutor.shutdownNow();
+    writeExecutor.shutdownNow();
+  }
+
+  /**
+   * Stage of the transformation.
+   */
+  @FunctionalInterface
+  private interface Stage<T, R> {
+
+    R apply(T input) throws MojoFailureException;
+
+  }
+
+}
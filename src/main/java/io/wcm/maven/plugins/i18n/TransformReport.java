@@ -0,0 +1,341 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonGenerator;
+
+/**
+ * Statistics of a transform goal execution with per-file measurements of the transformation phases.
+ * Written as JSON report to the build directory, and condensed to a single summary line for the build log.
+ */
+final class TransformReport {
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = getThreadMXBean();
+
+  private final String executionId;
+  private final List<String> outputFormats;
+  private final boolean incremental;
+  private int threadCount;
+  private final long startNanos = System.nanoTime();
+  private long discoveryNanos;
+  private long wallTimeNanos;
+  private final List<FileStatistics> files = new ArrayList<>();
+
+  /**
+   * @param executionId Mojo execution ID
+   * @param outputFormats Output formats
+   * @param incremental Incremental build
+   */
+  TransformReport(String executionId, List<String> outputFormats, boolean incremental) {
+    this.executionId = executionId;
+    this.outputFormats = outputFormats;
+    this.incremental = incremental;
+  }
+
+  /**
+   * Marks the end of the discovery phase: scanning source files and loading the cache.
+   */
+  void discoveryDone() {
+    discoveryNanos = System.nanoTime() - startNanos;
+  }
+
+  /**
+   * @param threadCount Number of threads used for transformation
+   */
+  void setThreadCount(int threadCount) {
+    this.threadCount = threadCount;
+  }
+
+  /**
+   * Adds the statistics of a source file. Has to be called in the order of the source files.
+   * @param fileStatistics File statistics
+   */
+  void add(FileStatistics fileStatistics) {
+    files.add(fileStatistics);
+  }
+
+  /**
+   * Marks the end of the transformation.
+   */
+  void done() {
+    wallTimeNanos = System.nanoTime() - startNanos;
+  }
+
+  /**
+   * @return true if statistics for at least one source file were added
+   */
+  boolean hasFiles() {
+    return !files.isEmpty();
+  }
+
+  /**
+   * @return Single line summary of all source files
+   */
+  String getSummary() {
+    FileStatistics totals = getTotals();
+    return "Transformed " + files.size() + " i18n resource(s) in " + TimeUnit.NANOSECONDS.toMillis(wallTimeNanos) + " ms: "
+        + count(TransformStatus.TRANSFORMED) + " written, "
+        + count(TransformStatus.OUTPUT_UNCHANGED) + " with unchanged output, "
+        + count(TransformStatus.SOURCE_UNCHANGED) + " skipped as unchanged; "
+        + totals.keyCount + " keys, "
+        + totals.bytesIn + " bytes read, "
+        + totals.bytesSerialized + " bytes serialized, "
+        + totals.bytesWritten + " bytes written; "
+        + totals.targetFilesWritten + " target file(s) written, "
+        + totals.targetFilesUnchanged + " not written as unchanged.";
+  }
+
+  private int count(TransformStatus status) {
+    int count = 0;
+    for (FileStatistics file : files) {
+      if (file.status == status) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private FileStatistics getTotals() {
+    FileStatistics totals = new FileStatistics(null);
+    totals.allocatedBytes = 0;
+    for (FileStatistics file : files) {
+      totals.keyCount += file.keyCount;
+      totals.bytesIn += file.bytesIn;
+      totals.bytesSerialized += file.bytesSerialized;
+      totals.bytesWritten += file.bytesWritten;
+      totals.targetFilesWritten += file.targetFilesWritten;
+      totals.targetFilesUnchanged += file.targetFilesUnchanged;
+      totals.readNanos += file.readNanos;
+      totals.serializeNanos += file.serializeNanos;
+      totals.writeNanos += file.writeNanos;
+      totals.totalNanos += file.totalNanos;
+      if (totals.allocatedBytes >= 0 && file.allocatedBytes >= 0) {
+        totals.allocatedBytes += file.allocatedBytes;
+      }
+      else {
+        totals.allocatedBytes = -1;
+      }
+    }
+    return totals;
+  }
+
+  /**
+   * Writes the report as JSON file.
+   * @param reportFile Report file
+   * @throws IOException I/O exception
+   */
+  void write(File reportFile) throws IOException {
+    File parentDirectory = reportFile.getParentFile();
+    if (!parentDirectory.mkdirs() && !parentDirectory.isDirectory()) {
+      throw new IOException("Unable to create directory: " + parentDirectory.getPath());
+    }
+    try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(reportFile.toPath()));
+        JsonGenerator generator = JsonUtil.createGenerator(os)) {
+      generator.writeStartObject();
+      generator.write("executionId", executionId);
+      generator.writeStartArray("outputFormats");
+      for (String outputFormat : outputFormats) {
+        generator.write(outputFormat);
+      }
+      generator.writeEnd();
+      generator.write("threads", threadCount);
+      generator.write("incremental", incremental);
+      generator.write("wallTimeNanos", wallTimeNanos);
+      generator.write("discoveryNanos", discoveryNanos);
+
+      generator.writeStartObject("totals");
+      generator.write("files", files.size());
+      generator.write("transformed", count(TransformStatus.TRANSFORMED));
+      generator.write("outputUnchanged", count(TransformStatus.OUTPUT_UNCHANGED));
+      generator.write("sourceUnchanged", count(TransformStatus.SOURCE_UNCHANGED));
+      writeMeasurements(generator, getTotals());
+      generator.writeEnd();
+
+      generator.writeStartArray("files");
+      for (FileStatistics file : files) {
+        generator.writeStartObject();
+        generator.write("source", file.sourcePath);
+        generator.write("status", file.status.name());
+        writeMeasurements(generator, file);
+        generator.write("totalNanos", file.totalNanos);
+        generator.writeEnd();
+      }
+      generator.writeEnd();
+
+      generator.writeEnd();
+    }
+    catch (JsonException ex) {
+      throw new IOException("Unable to write report: " + reportFile.getPath(), ex);
+    }
+  }
+
+  private static void writeMeasurements(JsonGenerator generator, FileStatistics statistics) {
+    generator.write("keys", statistics.keyCount);
+    generator.write("bytesIn", statistics.bytesIn);
+    generator.write("bytesSerialized", statistics.bytesSerialized);
+    generator.write("bytesWritten", statistics.bytesWritten);
+    generator.write("targetFilesWritten", statistics.targetFilesWritten);
+    generator.write("targetFilesUnchanged", statistics.targetFilesUnchanged);
+    if (statistics.allocatedBytes >= 0) {
+      generator.write("allocatedBytes", statistics.allocatedBytes);
+    }
+    generator.write("readNanos", statistics.readNanos);
+    generator.write("serializeNanos", statistics.serializeNanos);
+    generator.write("writeNanos", statistics.writeNanos);
+  }
+
+  private static com.sun.management.ThreadMXBean getThreadMXBean() {
+    java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+      com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean)threadMXBean;
+      if (sunThreadMXBean.isThreadAllocatedMemorySupported() && sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+        return sunThreadMXBean;
+      }
+    }
+    return null;
+  }
+
+  private static long getAllocatedBytes() {
+    if (THREAD_MX_BEAN == null) {
+      return -1;
+    }
+    return THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  /**
+   * Measurements of a single source file. An instance is only used by one thread at a time: the allocated bytes are
+   * measured for the current thread between creation or {@link #resume()} and {@link #pause()} or
+   * {@link #done(TransformStatus)}, so the phases can run on different threads.
+   * Phases:
+   * <ul>
+   * <li>read: parsing the source file into the sorted i18n map</li>
+   * <li>serialize: generating the output formats in memory</li>
+   * <li>write: comparing the generated output with the existing target files and replacing them</li>
+   * </ul>
+   */
+  static final class FileStatistics {
+
+    private final String sourcePath;
+    private final long startNanos;
+    private long startAllocatedBytes;
+    private TransformStatus status;
+    private long keyCount;
+    private long bytesIn;
+    private long bytesSerialized;
+    private long bytesWritten;
+    private int targetFilesWritten;
+    private int targetFilesUnchanged;
+    private long allocatedBytes;
+    private long readNanos;
+    private long serializeNanos;
+    private long writeNanos;
+    private long totalNanos;
+
+    /**
+     * @param sourcePath Relative path of source file
+     */
+    FileStatistics(String sourcePath) {
+      this.sourcePath = sourcePath;
+      this.startNanos = System.nanoTime();
+      this.startAllocatedBytes = getAllocatedBytes();
+    }
+
+    String getSourcePath() {
+      return this.sourcePath;
+    }
+
+    void read(long nanos, long sourceBytes, int keys) {
+      this.readNanos += nanos;
+      this.bytesIn += sourceBytes;
+      this.keyCount += keys;
+    }
+
+    void serialize(long nanos, long targetBytes) {
+      this.serializeNanos += nanos;
+      this.bytesSerialized += targetBytes;
+    }
+
+    void write(long nanos) {
+      this.writeNanos += nanos;
+    }
+
+    /**
+     * Counts a target file that was replaced, because its content has changed.
+     * @param bytes Size of the target file
+     */
+    void targetFileWritten(long bytes) {
+      this.targetFilesWritten++;
+      this.bytesWritten += bytes;
+    }
+
+    /**
+     * Counts a target file that was not written, because its content was unchanged.
+     */
+    void targetFileUnchanged() {
+      this.targetFilesUnchanged++;
+    }
+
+    /**
+     * Stops measuring the allocated bytes of the current thread, before the next phase is handed over to
+     * another thread.
+     */
+    void pause() {
+      long endAllocatedBytes = getAllocatedBytes();
+      if (allocatedBytes >= 0 && startAllocatedBytes >= 0 && endAllocatedBytes >= 0) {
+        allocatedBytes += endAllocatedBytes - startAllocatedBytes;
+      }
+      else {
+        allocatedBytes = -1;
+      }
+    }
+
+    /**
+     * Continues measuring the allocated bytes on the current thread.
+     */
+    void resume() {
+      startAllocatedBytes = getAllocatedBytes();
+    }
+
+    /**
+     * Finishes the measurement.
+     * @param transformStatus Transform status
+     * @return this
+     */
+    FileStatistics done(TransformStatus transformStatus) {
+      this.status = transformStatus;
+      this.totalNanos = System.nanoTime() - startNanos;
+      pause();
+      return this;
+    }
+
+  }
+
+}
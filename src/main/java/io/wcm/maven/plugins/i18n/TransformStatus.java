@@ -0,0 +1,42 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+/**
+ * Result status of transforming a single i18n source file.
+ */
+enum TransformStatus {
+
+  /**
+   * Source file was transformed and at least one target file was written.
+   */
+  TRANSFORMED,
+
+  /**
+   * Source file was transformed, but the content of all target files was unchanged.
+   */
+  OUTPUT_UNCHANGED,
+
+  /**
+   * Source file was skipped because it did not change since the previous build.
+   */
+  SOURCE_UNCHANGED
+
+}
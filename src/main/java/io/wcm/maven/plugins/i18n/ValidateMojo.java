@@ -0,0 +1,382 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.io.FilenameUtils;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Component;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.FileUtils;
+import org.sonatype.plexus.build.incremental.BuildContext;
+
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonGenerator;
+
+/**
+ * Validate that all languages of the i18n source files are consistent with a reference language: every key of the
+ * reference language has to be defined in all other languages, no other keys are allowed, and the values have to
+ * use the same <code>{0}</code> placeholders.
+ * <p>
+ * The source files in each directory are validated against the reference language file in the same directory.
+ * If a language has multiple source files with different file extensions, the entries of all its files are validated
+ * together in source order, where the last value of a key wins.
+ * The keys of the reference language are indexed once, and all other languages are read in parallel and checked
+ * against this shared index.
+ * </p>
+ */
+@Mojo(name = "validate", defaultPhase = LifecyclePhase.VALIDATE, requiresProject = true, threadSafe = true)
+public class ValidateMojo extends AbstractMojo {
+
+  /**
+   * Number of keys of each kind of difference that are listed per language in the build log.
+   * All keys are listed in the report.
+   */
+  private static final int MAX_LOGGED_KEYS = 10;
+
+  /**
+   * Source path containing the i18n source .properties, .json or .xml files.
+   */
+  @Parameter(defaultValue = "${basedir}/src/main/resources/i18n")
+  private String source;
+
+  /**
+   * Language whose keys and placeholders all other languages are validated against.
+   * Directories without source file for the reference language are skipped.
+   */
+  @Parameter(property = "i18n.referenceLanguage", defaultValue = "en")
+  private String referenceLanguage;
+
+  /**
+   * Validate that the values of all languages use the same <code>{index}</code> placeholders as the value of the
+   * reference language.
+   */
+  @Parameter(property = "i18n.checkPlaceholders", defaultValue = "true")
+  private boolean checkPlaceholders;
+
+  /**
+   * Fail the build if any language differs from the reference language. Otherwise the differences are only logged
+   * as warnings.
+   */
+  @Parameter(property = "i18n.failOnError", defaultValue = "true")
+  private boolean failOnError;
+
+  /**
+   * Number of threads used to read the i18n source files in parallel.
+   * If set to 0 (default), the number of available processors is used.
+   */
+  @Parameter(property = "i18n.threads", defaultValue = "0")
+  private int threads;
+
+  /**
+   * Write a JSON report listing all differences per language to <code>target/i18n-maven-plugin</code>.
+   */
+  @Parameter(property = "i18n.report", defaultValue = "true")
+  private boolean report;
+
+  @Parameter(property = "project", required = true, readonly = true)
+  private MavenProject project;
+
+  @Parameter(defaultValue = "${mojoExecution}", readonly = true)
+  private MojoExecution mojoExecution;
+
+  @Component
+  private BuildContext buildContext;
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    long startNanos = System.nanoTime();
+    File sourceDirectory = new File(source);
+    if (!sourceDirectory.isDirectory()) {
+      getLog().debug("Could not find directory at '" + source + "'");
+      return;
+    }
+
+    List<ValidationTask> tasks = new ArrayList<>();
+    for (Map.Entry<String, SortedMap<String, List<File>>> directory
+        : getSourceFilesByDirectory(sourceDirectory).entrySet()) {
+      SortedMap<String, List<File>> languages = directory.getValue();
+      List<File> referenceFiles = languages.get(referenceLanguage);
+      if (referenceFiles == null) {
+        getLog().warn("Skipped validation of " + directory.getKey() + ", no source file for reference language '"
+            + referenceLanguage + "'.");
+        continue;
+      }
+      KeyIndex keyIndex = new KeyIndex(readEntries(referenceFiles), checkPlaceholders);
+      getLog().debug("Indexed " + keyIndex.size() + " keys of " + referenceFiles);
+      for (Map.Entry<String, List<File>> language : languages.entrySet()) {
+        if (!language.getKey().equals(referenceLanguage)) {
+          tasks.add(new ValidationTask(keyIndex, referenceFiles, language.getValue(),
+              FileUtils.removeExtension(getRelativePath(sourceDirectory, language.getValue().get(0)))));
+        }
+      }
+    }
+    if (tasks.isEmpty()) {
+      return;
+    }
+
+    List<KeyIndex.Validation> validations = validate(tasks);
+    int invalidCount = 0;
+    for (KeyIndex.Validation validation : validations) {
+      if (!validation.isValid()) {
+        invalidCount++;
+        logValidation(validation);
+      }
+    }
+    if (report) {
+      writeReport(tasks, validations, sourceDirectory);
+    }
+
+    String summary = "Validated " + tasks.size() + " i18n resource(s) against reference language '" + referenceLanguage
+        + "' in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) + " ms: "
+        + invalidCount + " with differences.";
+    if (invalidCount > 0 && failOnError) {
+      throw new MojoFailureException(summary);
+    }
+    getLog().info(summary);
+  }
+
+  /**
+   * @param sourceDirectory Source directory
+   * @return Source files by language in source order, grouped by directory
+   */
+  private SortedMap<String, SortedMap<String, List<File>>> getSourceFilesByDirectory(File sourceDirectory) {
+    SortedMap<String, SortedMap<String, List<File>>> directories = new TreeMap<>();
+    for (String relativePath : I18nTransformer.scanI18nSourceFiles(buildContext.newScanner(sourceDirectory, true))) {
+      File file = new File(sourceDirectory, relativePath);
+      String directory = file.getParentFile().getPath();
+      String language = FileUtils.removeExtension(file.getName());
+      directories.computeIfAbsent(directory, key -> new TreeMap<>())
+          .computeIfAbsent(language, key -> new ArrayList<>()).add(file);
+    }
+    return directories;
+  }
+
+  /**
+   * @param files Source files of a language in source order
+   * @return Entries of all files, the last value of a key wins
+   */
+  private static SortedMap<String, String> readEntries(List<File> files) throws MojoFailureException {
+    SortedMap<String, String> entries = new TreeMap<>();
+    for (File file : files) {
+      try {
+        entries.putAll(SlingI18nMap.readEntries(I18nTransformer.getI18nReader(file), file));
+      }
+      catch (IOException ex) {
+        throw new MojoFailureException("Unable to read i18n file: " + file.getPath(), ex);
+      }
+    }
+    return entries;
+  }
+
+  private static String getRelativePath(File sourceDirectory, File file) {
+    return FilenameUtils.separatorsToUnix(sourceDirectory.toPath().relativize(file.toPath()).toString());
+  }
+
+  private static String getRelativePaths(File sourceDirectory, List<File> files) {
+    StringBuilder relativePaths = new StringBuilder();
+    for (File file : files) {
+      if (relativePaths.length() > 0) {
+        relativePaths.append(", ");
+      }
+      relativePaths.append(getRelativePath(sourceDirectory, file));
+    }
+    return relativePaths.toString();
+  }
+
+  /**
+   * Reads the source files of all tasks in parallel, and checks them against the key index of their reference
+   * language.
+   * @param tasks Validation tasks
+   * @return Validation results in the order of the tasks
+   */
+  private List<KeyIndex.Validation> validate(List<ValidationTask> tasks)
+      throws MojoExecutionException, MojoFailureException {
+    List<KeyIndex.Validation> validations = new ArrayList<>(tasks.size());
+    int threadCount = Math.min(threads > 0 ? threads : Runtime.getRuntime().availableProcessors(), tasks.size());
+    if (threadCount <= 1) {
+      for (ValidationTask task : tasks) {
+        validations.add(task.call());
+      }
+      return validations;
+    }
+    getLog().debug("Validating " + tasks.size() + " i18n files using " + threadCount + " threads.");
+    ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    try {
+      List<Future<KeyIndex.Validation>> futures = new ArrayList<>(tasks.size());
+      for (ValidationTask task : tasks) {
+        futures.add(executor.submit(task::call));
+      }
+      for (Future<KeyIndex.Validation> future : futures) {
+        validations.add(getResult(future));
+      }
+    }
+    finally {
+      executor.shutdownNow();
+    }
+    return validations;
+  }
+
+  private KeyIndex.Validation getResult(Future<KeyIndex.Validation> result)
+      throws MojoExecutionException, MojoFailureException {
+    try {
+      return result.get();
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while validating i18n resources", ex);
+    }
+    catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      if (cause instanceof MojoFailureException) {
+        throw (MojoFailureException)cause;
+      }
+      throw new MojoExecutionException("Failure to validate i18n resources", cause);
+    }
+  }
+
+  private void logValidation(KeyIndex.Validation validation) {
+    List<String> missingKeys = validation.getMissingKeys();
+    List<String> extraKeys = validation.getExtraKeys();
+    List<String> placeholderMismatchKeys = validation.getPlaceholderMismatchKeys();
+    StringBuilder message = new StringBuilder()
+        .append(validation.getLanguage()).append(": ")
+        .append(missingKeys.size()).append(" missing, ")
+        .append(extraKeys.size()).append(" extra, ")
+        .append(placeholderMismatchKeys.size()).append(" with placeholder mismatch");
+    appendKeys(message, "Missing", missingKeys);
+    appendKeys(message, "Extra", extraKeys);
+    appendKeys(message, "Placeholder mismatch", placeholderMismatchKeys);
+    if (failOnError) {
+      getLog().error(message);
+    }
+    else {
+      getLog().warn(message);
+    }
+  }
+
+  private static void appendKeys(StringBuilder message, String label, List<String> keys) {
+    for (int i = 0; i < keys.size() && i < MAX_LOGGED_KEYS; i++) {
+      message.append(System.lineSeparator()).append("  ").append(label).append(": ").append(keys.get(i));
+    }
+    if (keys.size() > MAX_LOGGED_KEYS) {
+      message.append(System.lineSeparator()).append("  ").append(label).append(": ... ")
+          .append(keys.size() - MAX_LOGGED_KEYS).append(" more");
+    }
+  }
+
+  private void writeReport(List<ValidationTask> tasks, List<KeyIndex.Validation> validations, File sourceDirectory)
+      throws MojoExecutionException {
+    File reportFile = new File(project.getBuild().getDirectory(),
+        "i18n-maven-plugin/" + mojoExecution.getExecutionId() + "-validation.json");
+    File parentDirectory = reportFile.getParentFile();
+    try {
+      if (!parentDirectory.mkdirs() && !parentDirectory.isDirectory()) {
+        throw new IOException("Unable to create directory: " + parentDirectory.getPath());
+      }
+      try (OutputStream os = new BufferedOutputStream(Files.newOutputStream(reportFile.toPath()));
+          JsonGenerator generator = JsonUtil.createGenerator(os)) {
+        generator.writeStartObject();
+        generator.write("referenceLanguage", referenceLanguage);
+        generator.writeStartArray("files");
+        for (int i = 0; i < tasks.size(); i++) {
+          ValidationTask task = tasks.get(i);
+          KeyIndex.Validation validation = validations.get(i);
+          generator.writeStartObject();
+          generator.write("file", getRelativePaths(sourceDirectory, task.files));
+          generator.write("reference", getRelativePaths(sourceDirectory, task.referenceFiles));
+          generator.write("valid", validation.isValid());
+          writeKeys(generator, "missingKeys", validation.getMissingKeys());
+          writeKeys(generator, "extraKeys", validation.getExtraKeys());
+          writeKeys(generator, "placeholderMismatchKeys", validation.getPlaceholderMismatchKeys());
+          generator.writeEnd();
+        }
+        generator.writeEnd();
+        generator.writeEnd();
+      }
+      getLog().debug("Written report: " + reportFile.getPath());
+    }
+    catch (IOException | JsonException ex) {
+      throw new MojoExecutionException("Unable to write validation report: " + reportFile.getPath(), ex);
+    }
+  }
+
+  private static void writeKeys(JsonGenerator generator, String name, List<String> keys) {
+    generator.writeStartArray(name);
+    for (String key : keys) {
+      generator.write(key);
+    }
+    generator.writeEnd();
+  }
+
+  /**
+   * Validation of the source files of a language against the key index of the reference language.
+   */
+  private static final class ValidationTask {
+
+    private final KeyIndex keyIndex;
+    private final List<File> referenceFiles;
+    private final List<File> files;
+    private final String language;
+
+    ValidationTask(KeyIndex keyIndex, List<File> referenceFiles, List<File> files, String language) {
+      this.keyIndex = keyIndex;
+      this.referenceFiles = referenceFiles;
+      this.files = files;
+      this.language = language;
+    }
+
+    KeyIndex.Validation call() throws MojoFailureException {
+      KeyIndex.Validation validation = keyIndex.validate(language);
+      for (File file : files) {
+        try {
+          I18nTransformer.getI18nReader(file).read(file, validation);
+        }
+        catch (IOException ex) {
+          throw new MojoFailureException("Unable to read i18n file: " + file.getPath(), ex);
+        }
+      }
+      return validation;
+    }
+
+  }
+
+}
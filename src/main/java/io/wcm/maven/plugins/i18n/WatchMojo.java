@@ -0,0 +1,110 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Transform i18n resources like the <code>transform</code> goal, and keep watching the source directory for changes
+ * until the build is stopped. Changed source files are transformed to the generated resources folder as soon as they
+ * are saved, without the startup time of a new Maven build. Deleted source files are removed from the generated
+ * resources folder.
+ * <p>
+ * Usage: <code>mvn io.wcm.maven.plugins:i18n-maven-plugin:watch</code>
+ * </p>
+ */
+@Mojo(name = "watch", requiresProject = true, threadSafe = true)
+public class WatchMojo extends TransformMojo {
+
+  /**
+   * Time in milliseconds to wait for further changes after a change was detected, before the changed files
+   * are transformed. Multiple changes within this time - e.g. when saving multiple files at once - are
+   * transformed together.
+   */
+  @Parameter(property = "i18n.debounce", defaultValue = "50")
+  private long debounce;
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    super.execute();
+
+    List<OutputTarget> outputTargets = getOutputTargets();
+    try {
+      File sourceDirectory = getSourceDirectory();
+      if (!sourceDirectory.isDirectory()) {
+        throw new MojoFailureException("Source directory does not exist: " + sourceDirectory.getPath());
+      }
+      try (SourceWatcher watcher = new SourceWatcher(sourceDirectory)) {
+        getLog().info("Watching " + sourceDirectory.getPath() + " for changes...");
+        while (true) {
+          transformChanges(watcher.take(debounce), outputTargets);
+        }
+      }
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while watching i18n resources", ex);
+    }
+    catch (IOException ex) {
+      throw new MojoFailureException("Failure to watch i18n resources", ex);
+    }
+  }
+
+  private void transformChanges(Set<File> files, List<OutputTarget> outputTargets)
+      throws IOException, MojoExecutionException {
+    List<File> changed = new ArrayList<>();
+    List<File> deleted = new ArrayList<>();
+    for (File file : files) {
+      if (!I18nTransformer.isI18nSourceFile(file)) {
+        continue;
+      }
+      if (file.isFile()) {
+        changed.add(file);
+      }
+      else if (!file.exists()) {
+        deleted.add(file);
+      }
+    }
+    if (changed.isEmpty() && deleted.isEmpty()) {
+      return;
+    }
+
+    I18nTransformer transformer = createTransformer(outputTargets);
+    transformer.setChanges(changed, deleted);
+    try {
+      transform(Collections.singletonList(transformer));
+    }
+    catch (MojoFailureException ex) {
+      // keep watching, the source file is expected to be fixed with one of the next changes
+      getLog().error(ex.getMessage(), ex.getCause());
+    }
+  }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n.readers;
+
+/**
+ * Receives the i18n entries read by an {@link I18nReader} in the order they appear in the source file.
+ * If a key is reported more than once, the last value wins.
+ */
+@FunctionalInterface
+public interface I18nEntrySink {
+
+  /**
+   * @param key I18n key
+   * @param value I18n value
+   */
+  void put(String key, String value);
+
+}
@@ -21,6 +21,7 @@ package io.wcm.maven.plugins.i18n.readers;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -33,6 +34,19 @@ public interface I18nReader {
    * @return I18n resources
    * @throws IOException I/O exception
    */
-  Map<String, String> read(File sourceFile) throws IOException;
+  default Map<String, String> read(File sourceFile) throws IOException {
+    Map<String, String> map = new HashMap<>();
+    read(sourceFile, map::put);
+    return map;
+  }
+
+  /**
+   * Reads the i18n resources from source file and passes each entry to the given sink,
+   * without collecting them in an intermediate map.
+   * @param sourceFile Source file
+   * @param sink Sink receiving the i18n entries
+   * @throws IOException I/O exception
+   */
+  void read(File sourceFile, I18nEntrySink sink) throws IOException;
 
 }
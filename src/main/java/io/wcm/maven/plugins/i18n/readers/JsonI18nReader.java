@@ -19,51 +19,74 @@
  */
 package io.wcm.maven.plugins.i18n.readers;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
-
-import org.apache.commons.io.IOUtils;
+import java.io.InputStream;
+import java.util.Arrays;
 
 import io.wcm.maven.plugins.i18n.JsonUtil;
-import jakarta.json.JsonObject;
-import jakarta.json.JsonValue;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonParser;
+import jakarta.json.stream.JsonParser.Event;
 
 /**
  * Reads i18n resources from JSON files.
+ * The file is parsed in a streaming fashion, without building a JSON object tree in memory.
  */
 public class JsonI18nReader implements I18nReader {
 
   @Override
-  public Map<String, String> read(File sourceFile) throws IOException {
-
-    String fileContent = IOUtils.toString(sourceFile.toURI().toURL(), StandardCharsets.UTF_8);
-    try {
-      JsonObject root = JsonUtil.fromString(fileContent);
-      Map<String, String> map = new HashMap<>();
-      parseJson(root, map, "");
-      return map;
+  public void read(File sourceFile, I18nEntrySink sink) throws IOException {
+    try (InputStream is = new BufferedInputStream(new FileInputStream(sourceFile));
+        JsonParser parser = JsonUtil.createParser(is)) {
+      parseJson(parser, sink);
     }
-    catch (IOException ex) {
+    catch (IOException | JsonException ex) {
       throw new IOException("Unable to read JSON from " + sourceFile.getAbsolutePath(), ex);
     }
   }
 
-  private void parseJson(JsonObject node, Map<String, String> map, String prefix) throws IOException {
-    for (Map.Entry<String, JsonValue> entry : node.entrySet()) {
-      String key = entry.getKey();
-      JsonValue value = entry.getValue();
-      switch (value.getValueType()) {
-        case OBJECT:
-          parseJson(value.asJsonObject(), map, prefix + key + ".");
+  private void parseJson(JsonParser parser, I18nEntrySink sink) throws IOException {
+    if (!parser.hasNext() || parser.next() != Event.START_OBJECT) {
+      throw new IOException("JSON root is not an object.");
+    }
+
+    // key prefix of current nesting level, and the prefix lengths of the parent levels
+    StringBuilder prefix = new StringBuilder();
+    int[] prefixLengths = new int[16];
+    int depth = 0;
+    String key = null;
+
+    while (parser.hasNext()) {
+      Event event = parser.next();
+      switch (event) {
+        case KEY_NAME:
+          key = parser.getString();
+          break;
+        case VALUE_STRING:
+          int prefixLength = prefix.length();
+          prefix.append(key);
+          sink.put(prefix.toString(), parser.getString());
+          prefix.setLength(prefixLength);
+          break;
+        case START_OBJECT:
+          if (depth == prefixLengths.length) {
+            prefixLengths = Arrays.copyOf(prefixLengths, depth * 2);
+          }
+          prefixLengths[depth++] = prefix.length();
+          prefix.append(key).append('.');
           break;
-        case STRING:
-          map.put(prefix + key, node.getString(key));
+        case END_OBJECT:
+          if (depth == 0) {
+            // end of root object
+            return;
+          }
+          prefix.setLength(prefixLengths[--depth]);
           break;
         default:
-          throw new IOException("Unsupported JSON value: " + node.getValueType());
+          throw new IOException("Unsupported JSON value: " + event);
       }
     }
   }
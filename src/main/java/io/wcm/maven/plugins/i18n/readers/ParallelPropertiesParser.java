@@ -0,0 +1,102 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n.readers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parses a large properties file by splitting it into chunks at logical line boundaries, which are parsed in the
+ * fork/join common pool. The entries are passed to the sink in the order they appear in the file, so the result is
+ * the same as parsing the file with a single {@link PropertiesParser}.
+ */
+final class ParallelPropertiesParser {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final ByteBuffer buffer;
+  private final int chunkSize;
+
+  /**
+   * @param buffer Buffer containing the complete file, usually memory-mapped
+   * @param chunkSize Minimum size of the chunks in bytes
+   */
+  ParallelPropertiesParser(ByteBuffer buffer, int chunkSize) {
+    this.buffer = buffer;
+    this.chunkSize = chunkSize;
+  }
+
+  /**
+   * Parses all properties and passes them to the given sink in the order they appear in the file.
+   * @param sink Sink receiving the properties
+   * @throws IOException I/O exception or malformed escape sequence
+   */
+  void parse(I18nEntrySink sink) throws IOException {
+    List<ChunkTask> tasks = new ArrayList<>();
+    for (ByteBuffer chunk : PropertiesParser.split(buffer, chunkSize)) {
+      tasks.add(new ChunkTask(chunk));
+    }
+    ForkJoinTask.invokeAll(tasks);
+
+    for (ChunkTask task : tasks) {
+      if (task.exception != null) {
+        throw task.exception;
+      }
+      List<String> entries = task.entries;
+      for (int i = 0; i < entries.size(); i += 2) {
+        sink.put(entries.get(i), entries.get(i + 1));
+      }
+    }
+  }
+
+  /**
+   * Parses a single chunk into a list of alternating keys and values.
+   */
+  private static final class ChunkTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final transient ByteBuffer chunk;
+    private final List<String> entries = new ArrayList<>();
+    private IOException exception;
+
+    ChunkTask(ByteBuffer chunk) {
+      this.chunk = chunk;
+    }
+
+    @Override
+    protected void compute() {
+      try {
+        new PropertiesParser(chunk, BUFFER_SIZE).parse((key, value) -> {
+          entries.add(key);
+          entries.add(value);
+        });
+      }
+      catch (IOException ex) {
+        exception = ex;
+      }
+    }
+
+  }
+
+}
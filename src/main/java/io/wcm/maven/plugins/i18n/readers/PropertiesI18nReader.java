@@ -20,34 +20,77 @@
 package io.wcm.maven.plugins.i18n.readers;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Properties;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- * Reads i18n resources from Java properties files.
+ * Reads i18n resources from UTF-8 encoded Java properties files.
+ * The syntax is the same as supported by {@link java.util.Properties}.
+ * Large files are split into chunks at logical line boundaries that are parsed in parallel.
  */
 public class PropertiesI18nReader implements I18nReader {
 
+  /**
+   * Default minimum size in bytes of files that are parsed in parallel.
+   */
+  public static final long DEFAULT_PARALLEL_THRESHOLD = 8L * 1024L * 1024L;
+
+  /**
+   * Minimum size of the chunks of a file parsed in parallel.
+   */
+  private static final int MIN_CHUNK_SIZE = 1024 * 1024;
+
+  /**
+   * Number of chunks per thread of the fork/join pool, so threads finishing early can pick up further chunks.
+   */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private final long parallelThreshold;
+
+  /**
+   * Reader parsing files with at least {@link #DEFAULT_PARALLEL_THRESHOLD} bytes in parallel.
+   */
+  public PropertiesI18nReader() {
+    this(DEFAULT_PARALLEL_THRESHOLD);
+  }
+
+  /**
+   * @param parallelThreshold Minimum size in bytes of files that are split into chunks parsed in parallel.
+   *          0 disables parallel parsing.
+   */
+  public PropertiesI18nReader(long parallelThreshold) {
+    this.parallelThreshold = parallelThreshold;
+  }
+
   @Override
-  public Map<String, String> read(File sourceFile) throws IOException {
-    // read properties
-    Properties props = new Properties();
-    try (FileInputStream is = new FileInputStream(sourceFile);
-        InputStreamReader reader = new InputStreamReader(is, StandardCharsets.UTF_8)) {
-      props.load(reader);
+  public void read(File sourceFile, I18nEntrySink sink) throws IOException {
+    try (FileChannel channel = FileChannel.open(sourceFile.toPath(), StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+      if (isParallel(fileSize, parallelThreshold) && fileSize <= Integer.MAX_VALUE) {
+        int threadCount = ForkJoinPool.getCommonPoolParallelism() + 1;
+        int chunkSize = (int)Math.max(MIN_CHUNK_SIZE, fileSize / (threadCount * CHUNKS_PER_THREAD));
+        new ParallelPropertiesParser(channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize), chunkSize).parse(sink);
+      }
+      else {
+        new PropertiesParser(channel).parse(sink);
+      }
     }
-
-    // convert to map
-    Map<String, String> map = new HashMap<>();
-    for (Map.Entry<Object, Object> entry : props.entrySet()) {
-      map.put(entry.getKey().toString(), entry.getValue().toString());
+    catch (IOException ex) {
+      throw new IOException("Unable to read properties from " + sourceFile.getAbsolutePath(), ex);
     }
-    return map;
+  }
+
+  /**
+   * Checks if a file is processed in parallel. On a single processor the overhead of splitting and merging the
+   * chunks outweighs the gain, so files are always processed sequentially there.
+   * @param fileSize File size in bytes
+   * @param parallelThreshold Minimum size in bytes of files processed in parallel, 0 disables parallel processing
+   * @return true if the file is processed in parallel
+   */
+  public static boolean isParallel(long fileSize, long parallelThreshold) {
+    return parallelThreshold > 0 && fileSize >= parallelThreshold && Runtime.getRuntime().availableProcessors() > 1;
   }
 
 }
@@ -0,0 +1,434 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n.readers;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parses UTF-8 encoded Java properties files from a file channel.
+ * <p>
+ * The syntax is handled exactly like {@link java.util.Properties#load(java.io.Reader)}: comment lines, line
+ * continuations, <code>=</code>, <code>:</code> and whitespace separators and escape sequences including
+ * <code>&#92;uXXXX</code>. Malformed UTF-8 input is replaced like an {@link java.io.InputStreamReader} does, a byte order
+ * mark is not stripped. In contrast to {@link java.util.Properties} a malformed <code>&#92;uXXXX</code> escape results in
+ * an {@link IOException}. Where older Java versions differ in corner cases (a line continuation directly before the
+ * end of file, a comment character following the continuation of an otherwise empty line) the behavior of current
+ * Java versions is implemented.
+ * </p>
+ * <p>
+ * Files larger than {@link #MAPPED_FILE_THRESHOLD} are memory-mapped, smaller files are read via a heap buffer.
+ * The bytes are decoded in bulk into a char buffer that is parsed without further synchronization or copying.
+ * Large inputs can be split into chunks with {@link #split(ByteBuffer, int)} that are parsed in parallel.
+ * </p>
+ */
+final class PropertiesParser {
+
+  /**
+   * Files with at least this size in bytes are memory-mapped.
+   */
+  static final long MAPPED_FILE_THRESHOLD = 1024L * 1024L;
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int MIN_BUFFER_SIZE = 4;
+
+  private final FileChannel channel;
+  private final ByteBuffer byteBuffer;
+  private final CharBuffer charBuffer;
+  private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+  private boolean endOfInput;
+  private boolean endOfDecoding;
+
+  // current chunk of decoded chars
+  private final char[] inCharBuf;
+  private int inLimit;
+  private int inOff;
+
+  // current logical line
+  private char[] lineBuf = new char[1024];
+
+  private final StringBuilder outBuffer = new StringBuilder();
+
+  /**
+   * @param channel File channel to read from
+   * @throws IOException I/O exception
+   */
+  PropertiesParser(FileChannel channel) throws IOException {
+    this(channel, MAPPED_FILE_THRESHOLD, BUFFER_SIZE);
+  }
+
+  /**
+   * @param channel File channel to read from
+   * @param mappedFileThreshold Files with at least this size in bytes are memory-mapped
+   * @param bufferSize Size of the byte and char buffers
+   * @throws IOException I/O exception
+   */
+  PropertiesParser(FileChannel channel, long mappedFileThreshold, int bufferSize) throws IOException {
+    this.channel = channel;
+    int size = Math.max(bufferSize, MIN_BUFFER_SIZE);
+    long fileSize = channel.size();
+    if (fileSize >= mappedFileThreshold && fileSize <= Integer.MAX_VALUE) {
+      this.byteBuffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+      this.endOfInput = true;
+    }
+    else {
+      this.byteBuffer = ByteBuffer.allocate(size);
+      this.byteBuffer.flip();
+    }
+    this.charBuffer = CharBuffer.allocate(size);
+    this.inCharBuf = charBuffer.array();
+  }
+
+  /**
+   * @param buffer Buffer containing the complete input, e.g. a chunk of a memory-mapped file
+   * @param bufferSize Size of the char buffer
+   */
+  PropertiesParser(ByteBuffer buffer, int bufferSize) {
+    this.channel = null;
+    this.byteBuffer = buffer;
+    this.endOfInput = true;
+    this.charBuffer = CharBuffer.allocate(Math.max(bufferSize, MIN_BUFFER_SIZE));
+    this.inCharBuf = charBuffer.array();
+  }
+
+  /**
+   * Splits the input into chunks that can be parsed independently. A chunk ends after a line terminator that is
+   * not preceded by an odd number of backslashes, so the line terminator always ends a logical line - whether the
+   * line is a comment or not. As line terminators and backslashes are ASCII characters, they cannot be part of a
+   * multi-byte UTF-8 sequence.
+   * @param buffer Buffer containing the complete input
+   * @param chunkSize Minimum size of the chunks in bytes
+   * @return Chunks covering the complete input in order
+   */
+  static List<ByteBuffer> split(ByteBuffer buffer, int chunkSize) {
+    List<ByteBuffer> chunks = new ArrayList<>();
+    int limit = buffer.limit();
+    int start = 0;
+    while (start < limit) {
+      int end = findChunkEnd(buffer, start + Math.max(chunkSize, 1), limit);
+      ByteBuffer chunk = buffer.duplicate();
+      chunk.position(start);
+      chunk.limit(end);
+      chunks.add(chunk.slice());
+      start = end;
+    }
+    return chunks;
+  }
+
+  private static int findChunkEnd(ByteBuffer buffer, int from, int limit) {
+    for (int pos = from - 1; pos < limit; pos++) {
+      if (buffer.get(pos) != '\n') {
+        continue;
+      }
+      int backslashPos = pos - 1;
+      if (backslashPos >= 0 && buffer.get(backslashPos) == '\r') {
+        backslashPos--;
+      }
+      int backslashCount = 0;
+      while (backslashPos >= 0 && buffer.get(backslashPos) == '\\') {
+        backslashCount++;
+        backslashPos--;
+      }
+      if (backslashCount % 2 == 0) {
+        return pos + 1;
+      }
+    }
+    return limit;
+  }
+
+  /**
+   * Parses all properties and passes them to the given sink in the order they appear in the file.
+   * @param sink Sink receiving the properties
+   * @throws IOException I/O exception or malformed escape sequence
+   */
+  void parse(I18nEntrySink sink) throws IOException {
+    int limit;
+    while ((limit = readLine()) >= 0) {
+      int keyLen = 0;
+      int valueStart = limit;
+      boolean hasSep = false;
+      boolean precedingBackslash = false;
+      while (keyLen < limit) {
+        char c = lineBuf[keyLen];
+        // need check if escaped
+        if ((c == '=' || c == ':') && !precedingBackslash) {
+          valueStart = keyLen + 1;
+          hasSep = true;
+          break;
+        }
+        else if ((c == ' ' || c == '\t' || c == '\f') && !precedingBackslash) {
+          valueStart = keyLen + 1;
+          break;
+        }
+        if (c == '\\') {
+          precedingBackslash = !precedingBackslash;
+        }
+        else {
+          precedingBackslash = false;
+        }
+        keyLen++;
+      }
+      while (valueStart < limit) {
+        char c = lineBuf[valueStart];
+        if (c != ' ' && c != '\t' && c != '\f') {
+          if (!hasSep && (c == '=' || c == ':')) {
+            hasSep = true;
+          }
+          else {
+            break;
+          }
+        }
+        valueStart++;
+      }
+      String key = loadConvert(0, keyLen);
+      String value = loadConvert(valueStart, limit - valueStart);
+      sink.put(key, value);
+    }
+  }
+
+  /**
+   * Reads the next logical line into the line buffer, skipping comments, blank lines and leading whitespace,
+   * and joining continuation lines.
+   * @return Length of the line or -1 at end of input
+   */
+  private int readLine() throws IOException {
+    int len = 0;
+    int off = inOff;
+    int limit = inLimit;
+
+    boolean skipWhiteSpace = true;
+    boolean appendedLineBegin = false;
+    boolean precedingBackslash = false;
+    char[] buf = lineBuf;
+    char c;
+
+    while (true) {
+      if (off >= limit) {
+        inLimit = limit = fill();
+        off = 0;
+        if (limit <= 0) {
+          inOff = 0;
+          if (len == 0) {
+            return -1;
+          }
+          return precedingBackslash ? len - 1 : len;
+        }
+      }
+
+      c = inCharBuf[off++];
+
+      if (skipWhiteSpace) {
+        if (c == ' ' || c == '\t' || c == '\f') {
+          continue;
+        }
+        if (!appendedLineBegin && (c == '\r' || c == '\n')) {
+          continue;
+        }
+        skipWhiteSpace = false;
+        appendedLineBegin = false;
+      }
+
+      // still on a new logical line
+      if (len == 0 && (c == '#' || c == '!')) {
+        // comment, consume the rest of the line
+        while (true) {
+          if (off >= limit) {
+            inLimit = limit = fill();
+            off = 0;
+            if (limit <= 0) {
+              inOff = 0;
+              return -1;
+            }
+          }
+          c = inCharBuf[off++];
+          if (c == '\n' || c == '\r') {
+            break;
+          }
+        }
+        skipWhiteSpace = true;
+        continue;
+      }
+
+      if (c != '\n' && c != '\r') {
+        if (len == buf.length) {
+          buf = Arrays.copyOf(buf, newLineBufLength(buf.length));
+          lineBuf = buf;
+        }
+        buf[len++] = c;
+        // flip the preceding backslash flag
+        if (c == '\\') {
+          precedingBackslash = !precedingBackslash;
+        }
+        else {
+          precedingBackslash = false;
+        }
+      }
+      else {
+        // reached end of line
+        if (len == 0) {
+          skipWhiteSpace = true;
+          continue;
+        }
+        if (off >= limit) {
+          inLimit = limit = fill();
+          off = 0;
+          if (limit <= 0) {
+            inOff = 0;
+            return precedingBackslash ? len - 1 : len;
+          }
+        }
+        if (precedingBackslash) {
+          // backslash at end of line is not part of the line
+          len -= 1;
+          // skip leading whitespace characters in the following line
+          skipWhiteSpace = true;
+          appendedLineBegin = true;
+          precedingBackslash = false;
+          // take care not to include any subsequent \n
+          if (c == '\r' && inCharBuf[off] == '\n') {
+            off++;
+          }
+        }
+        else {
+          inOff = off;
+          return len;
+        }
+      }
+    }
+  }
+
+  private static int newLineBufLength(int length) {
+    if (length >= Integer.MAX_VALUE / 2) {
+      if (length == Integer.MAX_VALUE) {
+        throw new OutOfMemoryError("Required array size too large");
+      }
+      return Integer.MAX_VALUE;
+    }
+    return length * 2;
+  }
+
+  /**
+   * Decodes the next chunk of chars into the char buffer.
+   * @return Number of chars decoded or -1 at end of input
+   */
+  private int fill() throws IOException {
+    charBuffer.clear();
+    while (charBuffer.position() == 0 && !endOfDecoding) {
+      if (!endOfInput) {
+        byteBuffer.compact();
+        int read = channel.read(byteBuffer);
+        byteBuffer.flip();
+        if (read < 0) {
+          endOfInput = true;
+        }
+      }
+      CoderResult result = decoder.decode(byteBuffer, charBuffer, endOfInput);
+      if (endOfInput && result.isUnderflow()) {
+        result = decoder.flush(charBuffer);
+        endOfDecoding = result.isUnderflow();
+      }
+    }
+    charBuffer.flip();
+    return charBuffer.hasRemaining() ? charBuffer.remaining() : -1;
+  }
+
+  private static int hexDigit(char c) throws IOException {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'a' && c <= 'f') {
+      return c - 'a' + 10;
+    }
+    if (c >= 'A' && c <= 'F') {
+      return c - 'A' + 10;
+    }
+    throw new IOException("Malformed \\uxxxx encoding.");
+  }
+
+  /**
+   * Converts escape sequences in the given range of the line buffer.
+   * @param off Offset
+   * @param len Length
+   * @return Unescaped string
+   */
+  private String loadConvert(int off, int len) throws IOException {
+    char[] in = lineBuf;
+    int end = off + len;
+    int pos = off;
+    while (pos < end && in[pos] != '\\') {
+      pos++;
+    }
+    if (pos == end) {
+      // no escape sequences
+      return new String(in, off, len);
+    }
+
+    outBuffer.setLength(0);
+    outBuffer.append(in, off, pos - off);
+    while (pos < end) {
+      char c = in[pos++];
+      if (c == '\\') {
+        c = in[pos++];
+        if (c == 'u') {
+          // read the xxxx
+          if (pos > end - 4) {
+            throw new IOException("Malformed \\uxxxx encoding.");
+          }
+          int value = 0;
+          for (int i = 0; i < 4; i++) {
+            value = (value << 4) + hexDigit(in[pos++]);
+          }
+          outBuffer.append((char)value);
+        }
+        else {
+          if (c == 't') {
+            c = '\t';
+          }
+          else if (c == 'r') {
+            c = '\r';
+          }
+          else if (c == 'n') {
+            c = '\n';
+          }
+          else if (c == 'f') {
+            c = '\f';
+          }
+          outBuffer.append(c);
+        }
+      }
+      else {
+        outBuffer.append(c);
+      }
+    }
+    return outBuffer.toString();
+  }
+
+}
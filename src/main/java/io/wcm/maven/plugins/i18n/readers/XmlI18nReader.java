@@ -19,51 +19,107 @@
  */
 package io.wcm.maven.plugins.i18n.readers;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.io.InputStream;
+import java.util.Arrays;
 
 import javax.xml.XMLConstants;
-
-import org.jdom2.Document;
-import org.jdom2.Element;
-import org.jdom2.JDOMException;
-import org.jdom2.input.SAXBuilder;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * Reads i18n resources from XML files.
+ * The file is parsed in a streaming fashion, without building a DOM tree in memory.
  */
 public class XmlI18nReader implements I18nReader {
 
+  private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
   @Override
-  public Map<String, String> read(File sourceFile) throws IOException {
-    try {
-      SAXBuilder builder = new SAXBuilder();
-      builder.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
-      builder.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
-      Document doc = builder.build(sourceFile);
-      Map<String, String> map = new HashMap<>();
-      parseXml(doc.getRootElement(), map, "");
-      return map;
+  public void read(File sourceFile, I18nEntrySink sink) throws IOException {
+    try (InputStream is = new BufferedInputStream(new FileInputStream(sourceFile))) {
+      XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(sourceFile.toURI().toString(), is);
+      try {
+        parseXml(reader, sink);
+      }
+      finally {
+        reader.close();
+      }
     }
-    catch (JDOMException ex) {
+    catch (XMLStreamException ex) {
       throw new IOException("Unable to read XML from " + sourceFile.getAbsolutePath(), ex);
     }
   }
 
-  private void parseXml(Element node, Map<String, String> map, String prefix) {
-    List<Element> children = node.getChildren();
-    for (Element child : children) {
-      String key = child.getName();
-      if (!child.getChildren().isEmpty()) {
-        parseXml(child, map, prefix + key + ".");
-      }
-      else {
-        map.put(prefix + key, child.getText());
+  /**
+   * Elements with child elements build a key hierarchy, elements without child elements are i18n entries.
+   * The root element is not part of the key.
+   */
+  private void parseXml(XMLStreamReader reader, I18nEntrySink sink) throws XMLStreamException {
+
+    // key prefix of current nesting level including trailing dot, and the prefix lengths of the parent levels
+    StringBuilder prefix = new StringBuilder();
+    int[] prefixLengths = new int[16];
+    boolean[] hasChildren = new boolean[16];
+    int depth = 0;
+
+    // text of current element, as long as no child element was found
+    StringBuilder text = new StringBuilder();
+
+    while (reader.hasNext()) {
+      switch (reader.next()) {
+        case XMLStreamConstants.START_ELEMENT:
+          if (depth == prefixLengths.length) {
+            prefixLengths = Arrays.copyOf(prefixLengths, depth * 2);
+            hasChildren = Arrays.copyOf(hasChildren, depth * 2);
+          }
+          prefixLengths[depth] = prefix.length();
+          hasChildren[depth] = false;
+          if (depth > 0) {
+            hasChildren[depth - 1] = true;
+            prefix.append(reader.getLocalName()).append('.');
+          }
+          text.setLength(0);
+          depth++;
+          break;
+        case XMLStreamConstants.CHARACTERS:
+        case XMLStreamConstants.CDATA:
+        case XMLStreamConstants.SPACE:
+          if (depth > 1 && !hasChildren[depth - 1]) {
+            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+          }
+          break;
+        case XMLStreamConstants.END_ELEMENT:
+          depth--;
+          if (depth > 0) {
+            if (!hasChildren[depth]) {
+              sink.put(prefix.substring(0, prefix.length() - 1), text.toString());
+            }
+            prefix.setLength(prefixLengths[depth]);
+          }
+          break;
+        default:
+          // ignore comments, processing instructions etc.
+          break;
       }
     }
   }
 
+  private static XMLInputFactory createXmlInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    // do not access external DTDs or entities
+    if (factory.isPropertySupported(XMLConstants.ACCESS_EXTERNAL_DTD)) {
+      factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+    }
+    else {
+      factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    }
+    return factory;
+  }
+
 }
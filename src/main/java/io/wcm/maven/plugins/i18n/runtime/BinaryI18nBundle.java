@@ -0,0 +1,234 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Runtime reader for i18n files generated with output format <code>BINARY</code>. The file is memory-mapped and
+ * keys are looked up directly in the mapped file, only the values that are requested are decoded.
+ * Instances are immutable and thread-safe.
+ * <p>
+ * It is delivered in the artifact with classifier <code>runtime</code> of this plugin, not in the plugin artifact
+ * itself, and depends on the JDK only.
+ * </p>
+ * <p>
+ * File layout (all integers are 32 bit big-endian):
+ * </p>
+ * <pre>
+ * header:       magic "I18N", version, flags, entry count (n), string count (s), language string index
+ * keys:         int[n] string index of the keys, sorted by their UTF-8 bytes
+ * values:       int[n] string index of the values
+ * offsets:      int[s + 1] offsets of the strings in the string data
+ * [hash table]  only if flag 1 is set: bucket count (b), int[b] bucket seeds, int[n] entry index by slot
+ * string data:  UTF-8 bytes of the strings, each distinct string is stored once
+ * </pre>
+ * <p>
+ * The hash table is a minimal perfect hash of the keys: a key is assigned to a bucket by its hash with seed 0.
+ * A positive bucket seed is used to hash the key to its slot, a negative seed <code>-(slot + 1)</code>
+ * references the slot of a single-key bucket directly. Without hash table keys are looked up by binary search.
+ * </p>
+ */
+public final class BinaryI18nBundle {
+
+  private final ByteBuffer buffer;
+  private final int entryCount;
+  private final int keysPosition;
+  private final int valuesPosition;
+  private final int offsetsPosition;
+  private final int bucketCount;
+  private final int seedsPosition;
+  private final int slotsPosition;
+  private final int stringDataPosition;
+  private final String language;
+
+  private BinaryI18nBundle(ByteBuffer buffer) throws IOException {
+    this.buffer = buffer;
+    if (buffer.limit() < BinaryI18nFormat.HEADER_SIZE || buffer.getInt(0) != BinaryI18nFormat.MAGIC) {
+      throw new IOException("Not a binary i18n file.");
+    }
+    if (buffer.getInt(4) != BinaryI18nFormat.VERSION) {
+      throw new IOException("Unsupported binary i18n file version: " + buffer.getInt(4));
+    }
+    int flags = buffer.getInt(8);
+    this.entryCount = buffer.getInt(12);
+    int stringCount = buffer.getInt(16);
+    this.keysPosition = BinaryI18nFormat.HEADER_SIZE;
+    this.valuesPosition = keysPosition + entryCount * 4;
+    this.offsetsPosition = valuesPosition + entryCount * 4;
+    int position = offsetsPosition + (stringCount + 1) * 4;
+    if ((flags & BinaryI18nFormat.FLAG_PERFECT_HASH) != 0) {
+      this.bucketCount = buffer.getInt(position);
+      this.seedsPosition = position + 4;
+      this.slotsPosition = seedsPosition + bucketCount * 4;
+      position = slotsPosition + entryCount * 4;
+    }
+    else {
+      this.bucketCount = 0;
+      this.seedsPosition = position;
+      this.slotsPosition = position;
+    }
+    this.stringDataPosition = position;
+    if (stringDataPosition + buffer.getInt(offsetsPosition + stringCount * 4) > buffer.limit()) {
+      throw new IOException("Truncated binary i18n file.");
+    }
+    this.language = getString(buffer.getInt(20));
+  }
+
+  /**
+   * Memory-maps a binary i18n file.
+   * @param file Binary i18n file
+   * @return Bundle
+   * @throws IOException I/O exception or invalid file
+   */
+  public static BinaryI18nBundle open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new BinaryI18nBundle(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Reads a binary i18n file from a buffer, e.g. a class path resource that was read into memory.
+   * @param buffer Buffer containing the file content from position 0
+   * @return Bundle
+   * @throws IOException Invalid file
+   */
+  public static BinaryI18nBundle wrap(ByteBuffer buffer) throws IOException {
+    return new BinaryI18nBundle(buffer.duplicate());
+  }
+
+  /**
+   * @return Language of the bundle
+   */
+  public String getLanguage() {
+    return this.language;
+  }
+
+  /**
+   * @return Number of entries
+   */
+  public int size() {
+    return this.entryCount;
+  }
+
+  /**
+   * @param key I18n key
+   * @return Value or null if the key does not exist
+   */
+  public String get(String key) {
+    int index = indexOf(key);
+    return index >= 0 ? getValue(index) : null;
+  }
+
+  /**
+   * @param key I18n key
+   * @return true if the key exists
+   */
+  public boolean containsKey(String key) {
+    return indexOf(key) >= 0;
+  }
+
+  /**
+   * @param index Entry index between 0 and size - 1, entries are sorted by the UTF-8 bytes of their keys
+   * @return Key
+   */
+  public String getKey(int index) {
+    return getString(buffer.getInt(keysPosition + checkIndex(index) * 4));
+  }
+
+  /**
+   * @param index Entry index between 0 and size - 1, entries are sorted by the UTF-8 bytes of their keys
+   * @return Value
+   */
+  public String getValue(int index) {
+    return getString(buffer.getInt(valuesPosition + checkIndex(index) * 4));
+  }
+
+  private int checkIndex(int index) {
+    if (index < 0 || index >= entryCount) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", size: " + entryCount);
+    }
+    return index;
+  }
+
+  private int indexOf(String key) {
+    if (key == null || entryCount == 0) {
+      return -1;
+    }
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    if (bucketCount > 0) {
+      int seed = buffer.getInt(seedsPosition
+          + Integer.remainderUnsigned(BinaryI18nFormat.hash(keyBytes, 0), bucketCount) * 4);
+      int slot = seed < 0 ? -seed - 1 : Integer.remainderUnsigned(BinaryI18nFormat.hash(keyBytes, seed), entryCount);
+      int index = buffer.getInt(slotsPosition + slot * 4);
+      // keys not contained in the bundle are hashed to the slot of another key
+      return compareKey(index, keyBytes) == 0 ? index : -1;
+    }
+    int low = 0;
+    int high = entryCount - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int result = compareKey(mid, keyBytes);
+      if (result < 0) {
+        low = mid + 1;
+      }
+      else if (result > 0) {
+        high = mid - 1;
+      }
+      else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Compares the UTF-8 bytes of the key of an entry with the given bytes, without decoding the key.
+   */
+  private int compareKey(int index, byte[] keyBytes) {
+    int stringIndex = buffer.getInt(keysPosition + index * 4);
+    int start = stringDataPosition + buffer.getInt(offsetsPosition + stringIndex * 4);
+    int length = stringDataPosition + buffer.getInt(offsetsPosition + (stringIndex + 1) * 4) - start;
+    int commonLength = Math.min(length, keyBytes.length);
+    for (int i = 0; i < commonLength; i++) {
+      int result = Integer.compare(buffer.get(start + i) & 0xff, keyBytes[i] & 0xff);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return Integer.compare(length, keyBytes.length);
+  }
+
+  private String getString(int stringIndex) {
+    int start = buffer.getInt(offsetsPosition + stringIndex * 4);
+    int end = buffer.getInt(offsetsPosition + (stringIndex + 1) * 4);
+    byte[] bytes = new byte[end - start];
+    ByteBuffer data = buffer.duplicate();
+    data.position(stringDataPosition + start);
+    data.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n.runtime;
+
+/**
+ * Constants and hash function of the binary i18n format, shared by the writer of the plugin and the runtime reader
+ * {@link BinaryI18nBundle}, which specifies the file layout.
+ */
+public final class BinaryI18nFormat {
+
+  /**
+   * Magic number "I18N" at the start of the file.
+   */
+  public static final int MAGIC = 0x4931384E;
+
+  /**
+   * Version of the file layout.
+   */
+  public static final int VERSION = 1;
+
+  /**
+   * Flag set if the file contains the perfect hash table.
+   */
+  public static final int FLAG_PERFECT_HASH = 1;
+
+  /**
+   * Size of the header in bytes.
+   */
+  public static final int HEADER_SIZE = 24;
+
+  private BinaryI18nFormat() {
+    // static methods only
+  }
+
+  /**
+   * Seeded FNV-1a hash with a final avalanche step, used for the perfect hash table.
+   * @param bytes UTF-8 bytes of the key
+   * @param seed Seed
+   * @return Hash
+   */
+  public static int hash(byte[] bytes, int seed) {
+    int hash = 0x811C9DC5 ^ (seed * 0x9E3779B9);
+    for (byte b : bytes) {
+      hash ^= b & 0xff;
+      hash *= 0x01000193;
+    }
+    hash ^= hash >>> 16;
+    hash *= 0x85EBCA6B;
+    hash ^= hash >>> 13;
+    hash *= 0xC2B2AE35;
+    hash ^= hash >>> 16;
+    return hash;
+  }
+
+}
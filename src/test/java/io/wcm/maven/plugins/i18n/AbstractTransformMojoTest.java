@@ -0,0 +1,84 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.jupiter.api.Test;
+
+class AbstractTransformMojoTest {
+
+  private static final String TARGET = "SLING-INF/app-root/i18n";
+  private static final String GENERATED_RESOURCES_FOLDER_PATH = "generated-i18n-resources";
+
+  @Test
+  void testOutputFormat() throws Exception {
+    List<OutputTarget> outputTargets = AbstractTransformMojo.getOutputTargets(null, "json_properties", TARGET,
+        GENERATED_RESOURCES_FOLDER_PATH);
+    assertEquals(1, outputTargets.size());
+    assertEquals(OutputFormat.JSON_PROPERTIES, outputTargets.get(0).getFormat());
+    assertEquals(TARGET, outputTargets.get(0).getTarget());
+    assertEquals(GENERATED_RESOURCES_FOLDER_PATH, outputTargets.get(0).getGeneratedResourcesFolderPath());
+  }
+
+  @Test
+  void testOutputs() throws Exception {
+    List<OutputTarget> outputTargets = AbstractTransformMojo.getOutputTargets(List.of(
+        output("JSON", null),
+        output("JSON_PROPERTIES", "i18n-bundle"),
+        output("XML", null)), "json", TARGET, GENERATED_RESOURCES_FOLDER_PATH);
+    assertEquals(3, outputTargets.size());
+    assertEquals(TARGET, outputTargets.get(0).getTarget());
+    assertEquals("i18n-bundle", outputTargets.get(1).getTarget());
+    assertEquals(GENERATED_RESOURCES_FOLDER_PATH + "/json_properties",
+        outputTargets.get(1).getGeneratedResourcesFolderPath());
+    assertEquals(TARGET, outputTargets.get(2).getTarget());
+  }
+
+  @Test
+  void testOutputFormatConfiguredTwice() {
+    assertThrows(MojoExecutionException.class, () -> AbstractTransformMojo.getOutputTargets(List.of(
+        output("JSON", null),
+        output("json", "i18n-bundle")), "json", TARGET, GENERATED_RESOURCES_FOLDER_PATH));
+  }
+
+  @Test
+  void testOutputsWithSameTargetFiles() {
+    // both write <target>/en.json
+    assertThrows(MojoExecutionException.class, () -> AbstractTransformMojo.getOutputTargets(List.of(
+        output("JSON", null),
+        output("JSON_PROPERTIES", null)), "json", TARGET, GENERATED_RESOURCES_FOLDER_PATH));
+    assertThrows(MojoExecutionException.class, () -> AbstractTransformMojo.getOutputTargets(List.of(
+        output("JSON_PROPERTIES", "i18n-bundle"),
+        output("JSON_PROPERTIES_SHARDED", "/i18n-bundle/")), "json", TARGET, GENERATED_RESOURCES_FOLDER_PATH));
+  }
+
+  private static Output output(String format, String target) {
+    Output output = new Output();
+    output.setFormat(format);
+    output.setTarget(target);
+    return output;
+  }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.wcm.maven.plugins.i18n.runtime.BinaryI18nBundle;
+
+class BinaryI18nBundleTest {
+
+  private static final Map<String, String> ENTRIES = Map.of(
+      "key1", "value1",
+      "key2.key21.key211", "value2",
+      "key3 with special chars äöüß€", "value3",
+      "key4", "value4 äöüß€",
+      "key5 😀", "value1",
+      "key5 Ａ", "value1");
+
+  @TempDir
+  File tempDir;
+
+  @ParameterizedTest
+  @ValueSource(booleans = { true, false })
+  void testGet(boolean perfectHash) throws Exception {
+    BinaryI18nBundle underTest = BinaryI18nBundle.wrap(ByteBuffer.wrap(write(ENTRIES, perfectHash)));
+
+    assertEquals("en", underTest.getLanguage());
+    assertEquals(ENTRIES.size(), underTest.size());
+    for (Map.Entry<String, String> entry : ENTRIES.entrySet()) {
+      assertEquals(entry.getValue(), underTest.get(entry.getKey()), entry.getKey());
+      assertTrue(underTest.containsKey(entry.getKey()));
+    }
+    assertNull(underTest.get("key"));
+    assertNull(underTest.get("key10"));
+    assertNull(underTest.get("zzz"));
+    assertNull(underTest.get(""));
+    assertNull(underTest.get(null));
+    assertFalse(underTest.containsKey("key7"));
+  }
+
+  @Test
+  void testEntriesSortedByUtf8Bytes() throws Exception {
+    BinaryI18nBundle underTest = BinaryI18nBundle.wrap(ByteBuffer.wrap(write(ENTRIES, true)));
+
+    // supplementary characters are sorted after U+FF21 in UTF-8 byte order, but before in String order
+    assertEquals("key5 Ａ", underTest.getKey(4));
+    assertEquals("key5 😀", underTest.getKey(5));
+    assertEquals("value1", underTest.getValue(5));
+    assertThrows(IndexOutOfBoundsException.class, () -> underTest.getKey(6));
+  }
+
+  @Test
+  void testValuesDeduplicated() throws Exception {
+    Map<String, String> distinctValues = new HashMap<>(ENTRIES);
+    distinctValues.put("key5 😀", "value5");
+    distinctValues.put("key5 Ａ", "value6");
+
+    // each duplicate value saves 6 bytes of string data and 4 bytes of offset
+    assertEquals(write(distinctValues, false).length - 20, write(ENTRIES, false).length);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = { true, false })
+  void testManyEntries(boolean perfectHash) throws Exception {
+    Map<String, String> entries = new HashMap<>();
+    for (int i = 0; i < 20000; i++) {
+      entries.put("component" + (i % 97) + ".label." + i, "Label " + (i % 1000));
+    }
+    File file = new File(tempDir, "de.bin");
+    Files.write(file.toPath(), write(entries, perfectHash));
+
+    BinaryI18nBundle underTest = BinaryI18nBundle.open(file.toPath());
+    assertEquals(entries.size(), underTest.size());
+    for (Map.Entry<String, String> entry : entries.entrySet()) {
+      assertEquals(entry.getValue(), underTest.get(entry.getKey()));
+    }
+    assertNull(underTest.get("component1.label.20000"));
+  }
+
+  @Test
+  void testEmpty() throws Exception {
+    BinaryI18nBundle underTest = BinaryI18nBundle.wrap(ByteBuffer.wrap(write(Map.of(), true)));
+    assertEquals(0, underTest.size());
+    assertNull(underTest.get("key1"));
+  }
+
+  @Test
+  void testInvalidFile() {
+    assertThrows(IOException.class,
+        () -> BinaryI18nBundle.wrap(ByteBuffer.wrap("{\"key1\":\"value1\"}".getBytes(StandardCharsets.UTF_8))));
+    assertThrows(IOException.class, () -> BinaryI18nBundle.wrap(ByteBuffer.allocate(4)));
+  }
+
+  @Test
+  void testTruncatedFile() throws Exception {
+    byte[] content = write(ENTRIES, true);
+    assertThrows(IOException.class, () -> BinaryI18nBundle.wrap(ByteBuffer.wrap(content, 0, content.length - 1)));
+  }
+
+  private static byte[] write(Map<String, String> entries, boolean perfectHash) throws IOException {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    assertTrue(new SlingI18nMap("en", entries).writeI18nBinary(bos, perfectHash));
+    return bos.toByteArray();
+  }
+
+}
@@ -0,0 +1,229 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.wcm.maven.plugins.i18n.readers.PropertiesI18nReader;
+
+class ExternalSortedMapTest {
+
+  @TempDir
+  File tempDir;
+
+  @Test
+  void testSort() throws Exception {
+    File sourceFile = writeSourceFile();
+    File runDirectory = newRunDirectory();
+    SortedMap<String, String> expected = SlingI18nMap.readEntries(new PropertiesI18nReader(), sourceFile);
+
+    // each entry is written to its own run
+    SortedMap<String, String> underTest = ExternalSortedMap.sort(new PropertiesI18nReader(0), sourceFile,
+        runDirectory, 1);
+    assertTrue(underTest instanceof ExternalSortedMap);
+    // runs are deleted after merging
+    assertEquals(1, runDirectory.list().length);
+
+    assertEquals(expected.size(), underTest.size());
+    assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(underTest.entrySet()));
+    // iterating again reads the file again
+    assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(underTest.keySet()));
+    assertEquals(expected.firstKey(), underTest.firstKey());
+    assertEquals(expected.lastKey(), underTest.lastKey());
+
+    // the last value of a key defined more than once wins
+    assertEquals("value5b", underTest.get("key5"));
+    assertNull(underTest.get("key0"));
+
+    ((ExternalSortedMap)underTest).close();
+    assertEquals(0, runDirectory.list().length);
+  }
+
+  @Test
+  void testSort_SingleRun() throws Exception {
+    File sourceFile = writeSourceFile();
+    File runDirectory = newRunDirectory();
+
+    SortedMap<String, String> underTest = ExternalSortedMap.sort(new PropertiesI18nReader(0), sourceFile,
+        runDirectory, Long.MAX_VALUE);
+    assertEquals(SlingI18nMap.readEntries(new PropertiesI18nReader(), sourceFile), underTest);
+    assertEquals(0, runDirectory.list().length);
+  }
+
+  @Test
+  void testSameOutputAsInMemory() throws Exception {
+    File sourceFile = writeSourceFile();
+    File runDirectory = newRunDirectory();
+
+    SlingI18nMap expected = SlingI18nMap.read("en", new PropertiesI18nReader(), sourceFile);
+    SlingI18nMap underTest = SlingI18nMap.readExternal("en", new PropertiesI18nReader(0), sourceFile,
+        runDirectory, 1);
+    assertTrue(underTest.isExternal());
+
+    // includes keys with the same escaped key, which are resolved by lookup
+    assertEquals(expected.getI18nJsonString(), underTest.getI18nJsonString());
+    assertEquals(expected.getI18nJsonPropertiesString(), underTest.getI18nJsonPropertiesString());
+    assertEquals(expected.getI18nXmlString(), underTest.getI18nXmlString());
+    assertEquals(expected.getI18nPropertiesString(), underTest.getI18nPropertiesString());
+    assertArrayEquals(writeBinary(expected), writeBinary(underTest));
+    assertEquals(expected.split(new KeySharding(List.of(), 1)).keySet(),
+        underTest.split(new KeySharding(List.of(), 1)).keySet());
+
+    underTest.deleteTempFiles();
+    assertEquals(0, runDirectory.list().length);
+  }
+
+  @Test
+  void testRangeViews() throws Exception {
+    File sourceFile = writeLargeSourceFile();
+    File runDirectory = newRunDirectory();
+    SortedMap<String, String> expected = SlingI18nMap.readEntries(new PropertiesI18nReader(), sourceFile);
+
+    // multiple runs with more entries than fit into a single indexed block
+    SortedMap<String, String> underTest = ExternalSortedMap.sort(new PropertiesI18nReader(0), sourceFile,
+        runDirectory, 100000);
+    assertTrue(underTest instanceof ExternalSortedMap);
+
+    for (String key : List.of("component0.key10", "component3.key3", "component9.key1499", "component9.key999", "key1")) {
+      assertEquals(expected.get(key), underTest.get(key), key);
+      assertTrue(underTest.containsKey(key), key);
+    }
+    assertNull(underTest.get("component9.key1499x"));
+    assertFalse(underTest.containsKey("a"));
+    assertFalse(underTest.containsKey("z"));
+
+    assertRangeView(expected.subMap("component3.", "component3/"), underTest.subMap("component3.", "component3/"));
+    assertRangeView(expected.headMap("component2.key1000"), underTest.headMap("component2.key1000"));
+    assertRangeView(expected.tailMap("component8.key5"), underTest.tailMap("component8.key5"));
+    assertRangeView(expected.subMap("component1", "component7").tailMap("component4").headMap("component5"),
+        underTest.subMap("component1", "component7").tailMap("component4").headMap("component5"));
+    assertRangeView(expected.subMap("x", "y"), underTest.subMap("x", "y"));
+
+    // views only contain keys within their range
+    SortedMap<String, String> view = underTest.subMap("component3.", "component3/");
+    assertNull(view.get("component4.key4"));
+    assertTrue(view.headMap("component2").isEmpty());
+    assertThrows(NoSuchElementException.class, () -> view.tailMap("component4").lastKey());
+
+    ((ExternalSortedMap)underTest).close();
+    assertEquals(0, runDirectory.list().length);
+  }
+
+  @Test
+  void testShardedOutput() throws Exception {
+    File sourceFile = writeLargeSourceFile();
+    File runDirectory = newRunDirectory();
+    KeySharding sharding = new KeySharding(List.of(), 1);
+
+    SlingI18nMap expected = SlingI18nMap.read("en", new PropertiesI18nReader(), sourceFile);
+    SlingI18nMap underTest = SlingI18nMap.readExternal("en", new PropertiesI18nReader(0), sourceFile,
+        runDirectory, 100000);
+    assertTrue(underTest.isExternal());
+
+    Map<String, SlingI18nMap> expectedShards = expected.split(sharding);
+    Map<String, SlingI18nMap> shards = underTest.split(sharding);
+    assertEquals(expectedShards.keySet(), shards.keySet());
+    for (String shard : expectedShards.keySet()) {
+      assertEquals(expectedShards.get(shard).getI18nJsonPropertiesString(), shards.get(shard).getI18nJsonPropertiesString(), shard);
+    }
+
+    // keys sorted by escaped key to detect collisions are deleted afterwards
+    assertEquals(1, runDirectory.list().length);
+    underTest.deleteTempFiles();
+    assertEquals(0, runDirectory.list().length);
+  }
+
+  private static void assertRangeView(SortedMap<String, String> expected, SortedMap<String, String> actual) {
+    assertEquals(expected.size(), actual.size());
+    assertEquals(expected.isEmpty(), actual.isEmpty());
+    assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(actual.entrySet()));
+    if (!expected.isEmpty()) {
+      assertEquals(expected.firstKey(), actual.firstKey());
+      assertEquals(expected.lastKey(), actual.lastKey());
+    }
+    else {
+      assertThrows(NoSuchElementException.class, actual::firstKey);
+      assertThrows(NoSuchElementException.class, actual::lastKey);
+    }
+  }
+
+  private File writeLargeSourceFile() throws Exception {
+    List<String> lines = new ArrayList<>();
+    for (int i = 3000; i > 0; i--) {
+      lines.add("component" + (i % 10) + ".key" + i + "=value" + i);
+    }
+    for (int i = 0; i < 500; i++) {
+      lines.add("key" + i + "=value" + i);
+    }
+    lines.add("key\\ with\\ spaces=value with spaces");
+    lines.add("key-with-spaces=value with dashes");
+    lines.add("component3.key\\ with\\ spaces=value with spaces");
+    lines.add("component3.key-with-spaces=value with dashes");
+    File file = new File(tempDir, "en.properties");
+    Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    return file;
+  }
+
+  private File writeSourceFile() throws Exception {
+    List<String> lines = new ArrayList<>();
+    for (int i = 50; i > 0; i--) {
+      lines.add("component" + (i % 7) + ".key" + i + "=value" + i);
+    }
+    lines.add("key5=value5a");
+    lines.add("key\\ with\\ spaces=value with spaces");
+    lines.add("key-with-spaces=value with dashes");
+    lines.add("key3=value3 äöüß€");
+    lines.add("key5=value5b");
+    File file = new File(tempDir, "en.properties");
+    Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+    return file;
+  }
+
+  private File newRunDirectory() {
+    File runDirectory = new File(tempDir, "runs");
+    runDirectory.mkdir();
+    return runDirectory;
+  }
+
+  private static byte[] writeBinary(SlingI18nMap i18nMap) throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    i18nMap.writeI18nBinary(bos, true);
+    return bos.toByteArray();
+  }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class FallbackSortedMapTest {
+
+  private static final SortedMap<String, String> DE_CH = new TreeMap<>(Map.of("b", "b-de_CH", "e", "e-de_CH"));
+  private static final SortedMap<String, String> DE = new TreeMap<>(Map.of("a", "a-de", "b", "b-de", "d", "d-de"));
+  private static final SortedMap<String, String> EN = new TreeMap<>(Map.of("a", "a-en", "c", "c-en", "f", "f-en"));
+
+  private final FallbackSortedMap underTest = new FallbackSortedMap(List.of(DE_CH, DE, EN));
+
+  @Test
+  void testEntries() {
+    assertEquals(Map.of(
+        "a", "a-de",
+        "b", "b-de_CH",
+        "c", "c-en",
+        "d", "d-de",
+        "e", "e-de_CH",
+        "f", "f-en"), underTest);
+    assertEquals(List.of("a", "b", "c", "d", "e", "f"), List.copyOf(underTest.keySet()));
+    assertEquals(6, underTest.size());
+    assertFalse(underTest.isEmpty());
+  }
+
+  @Test
+  void testGet() {
+    assertEquals("b-de_CH", underTest.get("b"));
+    assertEquals("a-de", underTest.get("a"));
+    assertEquals("f-en", underTest.get("f"));
+    assertNull(underTest.get("x"));
+    assertTrue(underTest.containsKey("c"));
+    assertFalse(underTest.containsKey("x"));
+  }
+
+  @Test
+  void testSortedMapViews() {
+    assertEquals("a", underTest.firstKey());
+    assertEquals("f", underTest.lastKey());
+    assertEquals(Map.of("b", "b-de_CH", "c", "c-en"), underTest.subMap("b", "d"));
+    assertEquals(Map.of("a", "a-de", "b", "b-de_CH"), underTest.headMap("c"));
+    assertEquals(Map.of("e", "e-de_CH", "f", "f-en"), underTest.tailMap("e"));
+  }
+
+  @Test
+  void testEmpty() {
+    FallbackSortedMap empty = new FallbackSortedMap(List.of(new TreeMap<>(), new TreeMap<>()));
+    assertTrue(empty.isEmpty());
+    assertEquals(0, empty.size());
+    assertThrows(NoSuchElementException.class, empty::firstKey);
+    assertThrows(NoSuchElementException.class, () -> empty.entrySet().iterator().next());
+  }
+
+  @Test
+  void testReadOnly() {
+    assertThrows(UnsupportedOperationException.class, () -> underTest.put("x", "y"));
+    assertThrows(UnsupportedOperationException.class, () -> underTest.entrySet().iterator().next().setValue("y"));
+  }
+
+}
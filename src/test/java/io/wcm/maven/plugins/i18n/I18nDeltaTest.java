@@ -0,0 +1,120 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+class I18nDeltaTest {
+
+  private static final Map<String, String> ENTRIES = Map.of(
+      "key1", "value1",
+      "key2", "value2",
+      "key3 äöüß€", "value3",
+      "key4", "value4");
+
+  @TempDir
+  File tempDir;
+
+  @Test
+  void testFull() throws Exception {
+    File digestFile = new File(tempDir, "en.digest");
+
+    JsonObject delta = write(ENTRIES, digestFile);
+    assertEquals("en", delta.getString("language"));
+    assertTrue(delta.getBoolean("full"));
+    assertEquals(Json.createObjectBuilder(ENTRIES).build(), delta.getJsonObject("added"));
+    assertTrue(delta.getJsonObject("changed").isEmpty());
+    assertTrue(delta.getJsonArray("removed").isEmpty());
+    assertTrue(digestFile.exists());
+  }
+
+  @Test
+  void testDelta() throws Exception {
+    File digestFile = new File(tempDir, "en.digest");
+    write(ENTRIES, digestFile);
+
+    JsonObject delta = write(Map.of(
+        "key0", "value0",
+        "key2", "value2 changed",
+        "key3 äöüß€", "value3",
+        "key5", "value5"), digestFile);
+    assertFalse(delta.getBoolean("full"));
+    assertEquals(Json.createObjectBuilder(Map.of("key0", "value0", "key5", "value5")).build(),
+        delta.getJsonObject("added"));
+    assertEquals(Json.createObjectBuilder(Map.of("key2", "value2 changed")).build(),
+        delta.getJsonObject("changed"));
+    assertEquals(Json.createArrayBuilder().add("key1").add("key4").build(), delta.getJsonArray("removed"));
+
+    // the digest of the second build is used for the next delta
+    delta = write(Map.of("key0", "value0"), digestFile);
+    assertTrue(delta.getJsonObject("added").isEmpty());
+    assertEquals(Json.createArrayBuilder().add("key2").add("key3 äöüß€").add("key5").build(),
+        delta.getJsonArray("removed"));
+  }
+
+  @Test
+  void testUnchanged() throws Exception {
+    File digestFile = new File(tempDir, "en.digest");
+    write(ENTRIES, digestFile);
+
+    JsonObject delta = write(ENTRIES, digestFile);
+    assertFalse(delta.getBoolean("full"));
+    assertTrue(delta.getJsonObject("added").isEmpty());
+    assertTrue(delta.getJsonObject("changed").isEmpty());
+    assertTrue(delta.getJsonArray("removed").isEmpty());
+
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    I18nDelta.writeUnchanged("en", bos, false);
+    assertEquals(delta, JsonUtil.fromString(bos.toString(StandardCharsets.UTF_8)));
+  }
+
+  @Test
+  void testInvalidDigestFile() throws Exception {
+    File digestFile = new File(tempDir, "en.digest");
+    Files.write(digestFile.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+
+    JsonObject delta = write(ENTRIES, digestFile);
+    assertTrue(delta.getBoolean("full"));
+    assertEquals(ENTRIES.size(), delta.getJsonObject("added").size());
+  }
+
+  private static JsonObject write(Map<String, String> entries, File digestFile) throws Exception {
+    ByteArrayOutputStream delta = new ByteArrayOutputStream();
+    ByteArrayOutputStream digest = new ByteArrayOutputStream();
+    new SlingI18nMap("en", entries).writeDelta(digestFile, delta, digest, true);
+    Files.write(digestFile.toPath(), digest.toByteArray());
+    return JsonUtil.fromString(delta.toString(StandardCharsets.UTF_8));
+  }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+class InFlightBudgetTest {
+
+  @Test
+  void testAcquireWithinBudget() throws Exception {
+    InFlightBudget underTest = new InFlightBudget(100);
+    underTest.acquire(60);
+    underTest.acquire(40);
+    assertEquals(100, underTest.getInFlightBytes());
+    underTest.release(60);
+    underTest.release(40);
+    assertEquals(0, underTest.getInFlightBytes());
+  }
+
+  @Test
+  void testAcquireLargerThanBudget() throws Exception {
+    InFlightBudget underTest = new InFlightBudget(100);
+    underTest.acquire(500);
+    assertEquals(500, underTest.getInFlightBytes());
+  }
+
+  @Test
+  void testAcquireBlocksUntilReleased() throws Exception {
+    InFlightBudget underTest = new InFlightBudget(100);
+    underTest.acquire(80);
+
+    CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> acquire(underTest, 30));
+    assertBlocked(blocked);
+
+    underTest.release(80);
+    blocked.get(10, TimeUnit.SECONDS);
+    assertEquals(30, underTest.getInFlightBytes());
+  }
+
+  @Test
+  void testResize() throws Exception {
+    InFlightBudget underTest = new InFlightBudget(100);
+    underTest.acquire(50);
+
+    // growing above the budget does not block, but further acquisitions
+    underTest.resize(50, 150);
+    assertEquals(150, underTest.getInFlightBytes());
+    CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> acquire(underTest, 10));
+    assertBlocked(blocked);
+
+    underTest.resize(150, 20);
+    blocked.get(10, TimeUnit.SECONDS);
+    assertEquals(30, underTest.getInFlightBytes());
+  }
+
+  @Test
+  void testRetain() throws Exception {
+    InFlightBudget underTest = new InFlightBudget(100);
+    underTest.retain(80);
+    underTest.acquire(10);
+    CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> acquire(underTest, 30));
+    assertBlocked(blocked);
+
+    // admitted when no other item is in flight, although the retained bytes exceed the budget with it
+    underTest.release(10);
+    blocked.get(10, TimeUnit.SECONDS);
+    assertEquals(110, underTest.getInFlightBytes());
+
+    underTest.releaseRetained(80);
+    assertEquals(30, underTest.getInFlightBytes());
+  }
+
+  private static void assertBlocked(CompletableFuture<Void> future) throws Exception {
+    try {
+      future.get(100, TimeUnit.MILLISECONDS);
+    }
+    catch (TimeoutException ex) {
+      // expected
+    }
+    assertFalse(future.isDone());
+  }
+
+  private static void acquire(InFlightBudget budget, long bytes) {
+    try {
+      budget.acquire(bytes);
+    }
+    catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+class KeyIndexTest {
+
+  private static final Map<String, String> REFERENCE = Map.of(
+      "key1", "value1",
+      "key2", "Hello {0}, you have {1,number} messages",
+      "key3", "value3",
+      "key4", "{0} items");
+
+  private final KeyIndex underTest = new KeyIndex(new TreeMap<>(REFERENCE), true);
+
+  @Test
+  void testValid() {
+    KeyIndex.Validation validation = underTest.validate("de");
+    validation.put("key4", "{0} Einträge");
+    validation.put("key3", "Wert3");
+    validation.put("key2", "Hallo {0}, Sie haben {1,number} Nachrichten");
+    validation.put("key1", "Wert1");
+
+    assertTrue(validation.isValid());
+    assertEquals("de", validation.getLanguage());
+    assertEquals(4, underTest.size());
+  }
+
+  @Test
+  void testDifferences() {
+    KeyIndex.Validation validation = underTest.validate("fr");
+    validation.put("key1", "valeur1");
+    validation.put("key2", "Bonjour {0}");
+    validation.put("key5", "valeur5");
+    validation.put("key0", "valeur0");
+
+    assertFalse(validation.isValid());
+    assertEquals(List.of("key3", "key4"), validation.getMissingKeys());
+    assertEquals(List.of("key0", "key5"), validation.getExtraKeys());
+    assertEquals(List.of("key2"), validation.getPlaceholderMismatchKeys());
+  }
+
+  @Test
+  void testDuplicateKeyLastValueWins() {
+    KeyIndex.Validation validation = underTest.validate("de");
+    validation.put("key4", "Einträge");
+    validation.put("key4", "{0} Einträge");
+    assertEquals(List.of(), validation.getPlaceholderMismatchKeys());
+
+    validation.put("key4", "Einträge");
+    assertEquals(List.of("key4"), validation.getPlaceholderMismatchKeys());
+  }
+
+  @Test
+  void testWithoutPlaceholderCheck() {
+    KeyIndex keyIndex = new KeyIndex(new TreeMap<>(REFERENCE), false);
+    KeyIndex.Validation validation = keyIndex.validate("de");
+    REFERENCE.keySet().forEach(key -> validation.put(key, "Wert"));
+
+    assertTrue(validation.isValid());
+  }
+
+  @Test
+  void testGetPlaceholderMask() {
+    assertEquals(0L, KeyIndex.getPlaceholderMask("no placeholders"));
+    assertEquals(0b1L, KeyIndex.getPlaceholderMask("{0}"));
+    assertEquals(0b101L, KeyIndex.getPlaceholderMask("{2,number,integer} of {0}"));
+    assertEquals(0b1L, KeyIndex.getPlaceholderMask("{0} and {0}"));
+    assertEquals(1L << 10, KeyIndex.getPlaceholderMask("{10}"));
+    assertEquals(1L << 63, KeyIndex.getPlaceholderMask("{99}"));
+    assertEquals(0L, KeyIndex.getPlaceholderMask("{name} {} {0 {1"));
+  }
+
+}
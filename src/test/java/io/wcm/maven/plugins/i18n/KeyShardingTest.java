@@ -0,0 +1,149 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+class KeyShardingTest {
+
+  private static final SortedMap<String, String> ENTRIES = new TreeMap<>(Map.of(
+      "account.login", "Login",
+      "account.profile.name", "Name",
+      "account-type", "Account type",
+      "checkout.pay", "Pay",
+      "checkout.cart.empty", "Empty cart",
+      "title", "Title"));
+
+  @TempDir
+  File tempDir;
+
+  @Test
+  void testSplitByDepth() {
+    Map<String, SortedMap<String, String>> shards = new KeySharding(List.of(), 1).split(ENTRIES);
+
+    assertEquals(List.of("account", "checkout", KeySharding.DEFAULT_SHARD), List.copyOf(shards.keySet()));
+    assertEquals(Map.of("account.login", "Login", "account.profile.name", "Name"), shards.get("account"));
+    assertEquals(Map.of("checkout.pay", "Pay", "checkout.cart.empty", "Empty cart"), shards.get("checkout"));
+    assertEquals(Map.of("account-type", "Account type", "title", "Title"), shards.get(KeySharding.DEFAULT_SHARD));
+  }
+
+  @Test
+  void testSplitByDepth2() {
+    Map<String, SortedMap<String, String>> shards = new KeySharding(List.of(), 2).split(ENTRIES);
+
+    assertEquals(List.of("account.profile", "checkout.cart", KeySharding.DEFAULT_SHARD),
+        List.copyOf(shards.keySet()));
+    assertEquals(4, shards.get(KeySharding.DEFAULT_SHARD).size());
+  }
+
+  @Test
+  void testSplitByPrefixes() {
+    Map<String, SortedMap<String, String>> shards = new KeySharding(List.of("checkout.cart", "account"), 1)
+        .split(ENTRIES);
+
+    assertEquals(List.of("account", "checkout.cart", KeySharding.DEFAULT_SHARD), List.copyOf(shards.keySet()));
+    assertEquals(Map.of("checkout.cart.empty", "Empty cart"), shards.get("checkout.cart"));
+    assertEquals(Map.of("account-type", "Account type", "checkout.pay", "Pay", "title", "Title"),
+        shards.get(KeySharding.DEFAULT_SHARD));
+  }
+
+  @Test
+  void testSplitFallbackSortedMap() {
+    SortedMap<String, String> de = new TreeMap<>(Map.of("account.login", "Anmelden", "title", "Titel"));
+    FallbackSortedMap entries = new FallbackSortedMap(List.of(de, ENTRIES));
+
+    Map<String, SortedMap<String, String>> shards = new KeySharding(List.of(), 1).split(entries);
+
+    assertEquals(Map.of("account.login", "Anmelden", "account.profile.name", "Name"), shards.get("account"));
+    assertEquals(Map.of("account-type", "Account type", "title", "Titel"), shards.get(KeySharding.DEFAULT_SHARD));
+  }
+
+  @Test
+  void testSplitEmpty() {
+    assertTrue(new KeySharding(List.of(), 1).split(new TreeMap<>()).isEmpty());
+  }
+
+  @Test
+  void testGetPrefix() {
+    KeySharding underTest = new KeySharding(List.of(), 2);
+    assertEquals("a.b", underTest.getPrefix("a.b.c"));
+    assertEquals("a.b", underTest.getPrefix("a.b.c.d"));
+    assertNull(underTest.getPrefix("a.b"));
+    assertNull(underTest.getPrefix("a"));
+  }
+
+  @Test
+  void testInvalidConfiguration() {
+    assertThrows(IllegalArgumentException.class, () -> new KeySharding(List.of(), 0));
+    assertThrows(IllegalArgumentException.class, () -> new KeySharding(List.of(" "), 1));
+    assertThrows(IllegalArgumentException.class, () -> new KeySharding(List.of("account."), 1));
+    assertThrows(IllegalArgumentException.class, () -> new KeySharding(List.of(".account"), 1));
+    assertThrows(IllegalArgumentException.class, () -> new KeySharding(List.of("a", "a-b", "a.b"), 1));
+  }
+
+  @Test
+  void testWriteReadIndex() throws Exception {
+    Map<String, String> shardFiles = new LinkedHashMap<>();
+    shardFiles.put("account", "en/account.json");
+    shardFiles.put(KeySharding.DEFAULT_SHARD, "en/_default.json");
+    Map<String, Integer> shardSizes = Map.of("account", 2, KeySharding.DEFAULT_SHARD, 1);
+
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    KeySharding.writeIndex(bos, "en", shardFiles, shardSizes, false);
+    String index = bos.toString(StandardCharsets.UTF_8);
+    JSONAssert.assertEquals("{\"language\":\"en\",\"shards\":["
+        + "{\"name\":\"account\",\"prefix\":\"account.\",\"file\":\"en/account.json\",\"keys\":2},"
+        + "{\"name\":\"_default\",\"file\":\"en/_default.json\",\"keys\":1}]}", index, true);
+
+    File indexFile = new File(tempDir, "en.json");
+    Files.write(indexFile.toPath(), index.getBytes(StandardCharsets.UTF_8));
+    assertEquals(List.of("en/account.json", "en/_default.json"), KeySharding.readIndexFiles(indexFile));
+  }
+
+  @Test
+  void testReadIndexFilesOtherFormat() throws Exception {
+    File file = new File(tempDir, "en.json");
+    assertEquals(List.of(), KeySharding.readIndexFiles(file));
+
+    Files.write(file.toPath(), "{\"key\":\"value\"}".getBytes(StandardCharsets.UTF_8));
+    assertEquals(List.of(), KeySharding.readIndexFiles(file));
+
+    Files.write(file.toPath(), "invalid".getBytes(StandardCharsets.UTF_8));
+    assertEquals(List.of(), KeySharding.readIndexFiles(file));
+  }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class LanguageFallbackTest {
+
+  @Test
+  void testGetFallbackLanguages() {
+    assertEquals(List.of(), LanguageFallback.getFallbackLanguages("en", null));
+    assertEquals(List.of(), LanguageFallback.getFallbackLanguages("en", "en"));
+    assertEquals(List.of("en"), LanguageFallback.getFallbackLanguages("de", "en"));
+    assertEquals(List.of("de"), LanguageFallback.getFallbackLanguages("de_CH", null));
+    assertEquals(List.of("de", "en"), LanguageFallback.getFallbackLanguages("de_CH", "en"));
+    assertEquals(List.of("en"), LanguageFallback.getFallbackLanguages("en_US", "en"));
+    assertEquals(List.of("zh_Hant", "zh", "en"), LanguageFallback.getFallbackLanguages("zh_Hant_TW", "en"));
+    assertEquals(List.of("pt"), LanguageFallback.getFallbackLanguages("pt-BR", null));
+  }
+
+  @Test
+  void testGetFallbackSourceFiles() {
+    File directory = new File("i18n");
+    File en = new File(directory, "en.properties");
+    File de = new File(directory, "de.json");
+    File deCH = new File(directory, "de_CH.properties");
+    File deAT = new File(directory, "de_AT.xml");
+    File otherDeCH = new File(new File(directory, "other"), "de_CH.properties");
+
+    LanguageFallback underTest = new LanguageFallback(List.of(en, de, deCH, deAT, otherDeCH), "en");
+
+    assertEquals(List.of(), underTest.getFallbackSourceFiles(en));
+    assertEquals(List.of(en), underTest.getFallbackSourceFiles(de));
+    assertEquals(List.of(de, en), underTest.getFallbackSourceFiles(deCH));
+    assertEquals(List.of(de, en), underTest.getFallbackSourceFiles(deAT));
+    assertEquals(List.of(), underTest.getFallbackSourceFiles(otherDeCH));
+    assertEquals(List.of(LanguageFallback.getLanguagePath(de), LanguageFallback.getLanguagePath(en)),
+        underTest.getFallbackLanguagePaths(deCH));
+  }
+
+}
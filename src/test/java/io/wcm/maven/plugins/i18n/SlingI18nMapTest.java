@@ -19,22 +19,47 @@
  */
 package io.wcm.maven.plugins.i18n;
 
+import static io.wcm.maven.plugins.i18n.FileUtil.getFileFromClasspath;
 import static io.wcm.maven.plugins.i18n.FileUtil.getStringFromClasspath;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Properties;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 import org.custommonkey.xmlunit.XMLAssert;
+import org.jdom2.Document;
+import org.jdom2.Element;
+import org.jdom2.Namespace;
+import org.jdom2.output.Format;
+import org.jdom2.output.XMLOutputter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.skyscreamer.jsonassert.JSONAssert;
 
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+
+import io.wcm.maven.plugins.i18n.readers.I18nReader;
+import io.wcm.maven.plugins.i18n.readers.PropertiesI18nReader;
+
 class SlingI18nMapTest {
 
   private SlingI18nMap underTest;
@@ -48,21 +73,170 @@ class SlingI18nMapTest {
         "key4", "value4 äöüß€"));
   }
 
+  @Test
+  void testValidName() {
+    String validKey = "key2.key21_Key211";
+    assertSame(validKey, SlingI18nMap.validName(validKey));
+    assertEquals("key3-with-special-chars-aeoeuess-", SlingI18nMap.validName("key3 with special chars äöüß€"));
+    assertEquals("---ae", SlingI18nMap.validName("\uD83D\uDE00Öä"));
+    assertEquals("ae", SlingI18nMap.validName("ä"));
+  }
+
   @Test
   void testGetI18nJsonString() throws Exception {
     JSONAssert.assertEquals(getStringFromClasspath("map/i18n-content.json"), underTest.getI18nJsonString(), true);
   }
 
+  @Test
+  void testWriteI18nJson() throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    underTest.writeI18nJson(bos);
+    assertEquals(underTest.getI18nJsonString(), bos.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testWriteI18nJson_Compact() throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    underTest.writeI18nJson(bos, false);
+    String json = bos.toString(StandardCharsets.UTF_8);
+    JSONAssert.assertEquals(underTest.getI18nJsonString(), json, true);
+    assertFalse(json.contains("\n"), json);
+  }
+
   @Test
   void testGetI18nJsonPropertiesString() throws Exception {
     JSONAssert.assertEquals(getStringFromClasspath("map/i18n-properties.json"), underTest.getI18nJsonPropertiesString(), true);
   }
 
+  @Test
+  void testWriteI18nJsonProperties() throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    underTest.writeI18nJsonProperties(bos);
+    assertEquals(underTest.getI18nJsonPropertiesString(), bos.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testWriteI18nJsonProperties_Compact() throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    underTest.writeI18nJsonProperties(bos, false);
+    String json = bos.toString(StandardCharsets.UTF_8);
+    JSONAssert.assertEquals(underTest.getI18nJsonPropertiesString(), json, true);
+    assertFalse(json.contains("\n"), json);
+  }
+
+  @Test
+  void testGetI18nJsonPropertiesString_EscapedKeyCollision() throws Exception {
+    underTest = new SlingI18nMap("en", Map.of(
+        "a", "value1",
+        "ae", "value2",
+        "ä", "value3",
+        "b c", "value4",
+        "b-c", "value5",
+        "b?c", "value6"));
+
+    // the same as adding the entries in sorted order to a JSON object builder
+    JsonObject expected = Json.createObjectBuilder()
+        .add("a", "value1")
+        .add("ae", "value2")
+        .add("b-c", "value4")
+        .add("b-c", "value5")
+        .add("b-c", "value6")
+        .add("ae", "value3")
+        .build();
+    assertEquals(JsonUtil.toString(expected), underTest.getI18nJsonPropertiesString());
+  }
+
   @Test
   void testGetI18nXmlString() throws Exception {
     XMLAssert.assertXMLEqual(getStringFromClasspath("map/i18n-content.xml"), underTest.getI18nXmlString());
   }
 
+  @Test
+  void testWriteI18nXml() throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    underTest.writeI18nXml(bos);
+    assertEquals(buildJdomXmlString("en", underTest), bos.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testWriteI18nXml_Compact() throws Exception {
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    underTest.writeI18nXml(bos, false);
+    String expected = buildJdomXmlString("en", underTest).replace("\r\n  ", "").replace("\r\n", "");
+    assertEquals(expected, bos.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testWriteI18nXml_SpecialChars() throws Exception {
+    underTest = new SlingI18nMap("de", Map.of(
+        "key1", "<b>value</b> & \"quoted\" 'single'",
+        "key2", "line1\nline2\r\n\ttabbed",
+        "key3 ä", "surrogate \uD83D\uDE00 €",
+        "key4", ""));
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    underTest.writeI18nXml(bos);
+    assertEquals(buildJdomXmlString("de", underTest), bos.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testWriteI18nXml_Empty() throws Exception {
+    underTest = new SlingI18nMap("en", Map.of());
+    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+    underTest.writeI18nXml(bos);
+    assertEquals(buildJdomXmlString("en", underTest), bos.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testWriteI18nXml_InvalidElementName() {
+    underTest = new SlingI18nMap("en", Map.of("1key", "value1"));
+    assertThrows(IOException.class, () -> underTest.writeI18nXml(new ByteArrayOutputStream()));
+  }
+
+  /**
+   * Builds the XML with a JDOM document, as it was done before the XML output was streamed.
+   */
+  private static String buildJdomXmlString(String languageKey, SlingI18nMap map) throws Exception {
+    Namespace jcr = Namespace.getNamespace("jcr", "http://www.jcp.org/jcr/1.0");
+    Namespace sling = Namespace.getNamespace("sling", "http://sling.apache.org/jcr/sling/1.0");
+    Element root = new Element("root", jcr);
+    root.addNamespaceDeclaration(jcr);
+    root.addNamespaceDeclaration(Namespace.getNamespace("mix", "http://www.jcp.org/jcr/mix/1.0"));
+    root.addNamespaceDeclaration(Namespace.getNamespace("nt", "http://www.jcp.org/jcr/nt/1.0"));
+    root.addNamespaceDeclaration(sling);
+    root.setAttribute("primaryType", "nt:folder", jcr);
+    root.setAttribute("mixinTypes", "[mix:language]", jcr);
+    root.setAttribute("language", languageKey, jcr);
+
+    // read entries back from JSON output to get the escaped keys
+    JsonObject json = JsonUtil.fromString(map.getI18nJsonString());
+    for (String escapedKey : json.keySet()) {
+      if (escapedKey.startsWith("jcr:")) {
+        continue;
+      }
+      JsonObject value = json.getJsonObject(escapedKey);
+      Element valueNode = new Element(escapedKey);
+      valueNode.setAttribute("primaryType", "nt:folder", jcr);
+      valueNode.setAttribute("mixinTypes", "[sling:Message]", jcr);
+      if (value.containsKey("sling:key")) {
+        valueNode.setAttribute("key", value.getString("sling:key"), sling);
+      }
+      valueNode.setAttribute("message", value.getString("sling:message"), sling);
+      root.addContent(valueNode);
+    }
+
+    return new XMLOutputter(Format.getPrettyFormat()).outputString(new Document(root));
+  }
+
+  @Test
+  void testReadEntries_ParallelSort() throws Exception {
+    File file = getFileFromClasspath("readers/sampleI18n.properties");
+    I18nReader reader = new PropertiesI18nReader();
+    SortedMap<String, String> expected = SlingI18nMap.readEntries(reader, file);
+    SortedMap<String, String> actual = SlingI18nMap.readEntries(reader, file, true);
+    assertEquals(expected, actual);
+    assertEquals(List.copyOf(expected.keySet()), List.copyOf(actual.keySet()));
+  }
+
   @Test
   void testGetI18nPropertiesString() throws Exception {
     Properties props = new Properties();
@@ -81,4 +255,63 @@ class SlingI18nMapTest {
     }
   }
 
+  @Test
+  void testWriteI18nProperties_StoreCompatible() throws Exception {
+    Map<String, String> entries = Map.of(
+        "key1", " leading space, trailing space ",
+        "key2", "special = : # ! \\ chars",
+        "key3", "line1\nline2\r\n\ttabbed\f",
+        "key4", "umlauts äöüß€ and \uD83D\uDE00",
+        "key5", "");
+    underTest = new SlingI18nMap("en", entries);
+
+    Properties props = new Properties();
+    props.putAll(entries);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    props.store(expected, null);
+
+    // same lines as written by Properties.store, except the timestamp comment
+    List<String> expectedLines = new ArrayList<>(List.of(expected.toString(StandardCharsets.ISO_8859_1).split(System.lineSeparator())));
+    assertTrue(expectedLines.remove(0).startsWith("#"));
+    Collections.sort(expectedLines);
+
+    List<String> actualLines = List.of(underTest.getI18nPropertiesString().split(System.lineSeparator()));
+    assertEquals(expectedLines, actualLines);
+  }
+
+  @Test
+  void testEstimateHeapBytes() {
+    SlingI18nMap map = new SlingI18nMap("en", Map.of("key1", "value1", "key2", "value22"));
+    assertEquals(ExternalSortedMap.estimateHeapBytes("key1", "value1") + ExternalSortedMap.estimateHeapBytes("key2", "value22"),
+        map.estimateHeapBytes());
+    assertEquals(0, new SlingI18nMap("en", Map.of()).estimateHeapBytes());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void testSortedEntries() {
+    SortedMap<String, String> expected = new TreeMap<>(Map.of("a", "1", "b", "2", "c", "3", "d", "4"));
+    SortedMap<String, String> sortedEntries = new SlingI18nMap.SortedEntries(
+        expected.entrySet().toArray(new Map.Entry[0]));
+
+    assertEquals(expected, sortedEntries);
+    assertEquals("a", sortedEntries.firstKey());
+    assertEquals("d", sortedEntries.lastKey());
+    assertEquals("2", sortedEntries.get("b"));
+    assertNull(sortedEntries.get("bb"));
+    assertFalse(sortedEntries.containsKey("e"));
+
+    assertEquals(expected.subMap("b", "d"), sortedEntries.subMap("b", "d"));
+    assertEquals(expected.headMap("c"), sortedEntries.headMap("c"));
+    assertEquals(expected.tailMap("bb"), sortedEntries.tailMap("bb"));
+    assertEquals(expected.subMap("b", "d").tailMap("c"), sortedEntries.subMap("b", "d").tailMap("c"));
+    assertEquals("c", sortedEntries.tailMap("bb").firstKey());
+    assertNull(sortedEntries.headMap("c").get("c"));
+
+    SortedMap<String, String> empty = sortedEntries.subMap("e", "f");
+    assertTrue(empty.isEmpty());
+    assertThrows(NoSuchElementException.class, empty::firstKey);
+    assertThrows(IllegalArgumentException.class, () -> sortedEntries.subMap("c", "b"));
+  }
+
 }
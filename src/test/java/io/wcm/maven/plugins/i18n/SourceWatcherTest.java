@@ -0,0 +1,133 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SourceWatcherTest {
+
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+  @TempDir
+  File tempDir;
+
+  @Test
+  void testCreateModifyDelete() throws Exception {
+    File file = new File(tempDir, "en.properties");
+    try (SourceWatcher watcher = new SourceWatcher(tempDir)) {
+      write(file, "key=value");
+      assertTrue(takeUntil(watcher, file).contains(file));
+
+      write(file, "key=value2");
+      assertTrue(takeUntil(watcher, file).contains(file));
+
+      Files.delete(file.toPath());
+      assertTrue(takeUntil(watcher, file).contains(file));
+      assertFalse(file.exists());
+    }
+  }
+
+  @Test
+  void testDebounce() throws Exception {
+    File file1 = new File(tempDir, "en.properties");
+    File file2 = new File(tempDir, "de.properties");
+    try (SourceWatcher watcher = new SourceWatcher(tempDir)) {
+      write(file1, "key=value");
+      write(file2, "key=Wert");
+      Set<File> files = takeUntil(watcher, file1, file2);
+      assertTrue(files.contains(file1));
+      assertTrue(files.contains(file2));
+    }
+  }
+
+  @Test
+  void testNewDirectory() throws Exception {
+    File directory = new File(tempDir, "sub");
+    File file1 = new File(directory, "en.properties");
+    File file2 = new File(directory, "de.properties");
+    try (SourceWatcher watcher = new SourceWatcher(tempDir)) {
+      assertTrue(directory.mkdir());
+      write(file1, "key=value");
+      assertTrue(takeUntil(watcher, file1).contains(file1));
+
+      // files in the new directory are watched as well
+      write(file2, "key=Wert");
+      assertTrue(takeUntil(watcher, file2).contains(file2));
+    }
+  }
+
+  @Test
+  void testMoveDirectory() throws Exception {
+    File watchedDirectory = new File(tempDir, "i18n");
+    File directory = new File(watchedDirectory, "sub");
+    File movedDirectory = new File(watchedDirectory, "moved");
+    File outsideDirectory = new File(tempDir, "outside");
+    assertTrue(directory.mkdirs());
+    File file1 = new File(directory, "en.properties");
+    File file2 = new File(directory, "de.properties");
+    write(file1, "key=value");
+    write(file2, "key=Wert");
+    try (SourceWatcher watcher = new SourceWatcher(watchedDirectory)) {
+      // renaming a directory reports the files at the old path as deleted and at the new path as created
+      Files.move(directory.toPath(), movedDirectory.toPath());
+      File movedFile1 = new File(movedDirectory, "en.properties");
+      File movedFile2 = new File(movedDirectory, "de.properties");
+      Set<File> files = takeUntil(watcher, file1, file2, movedFile1, movedFile2);
+      assertTrue(files.contains(file1));
+      assertTrue(files.contains(file2));
+
+      // moving a directory out of the tree reports its files as deleted
+      Files.move(movedDirectory.toPath(), outsideDirectory.toPath());
+      takeUntil(watcher, movedFile1, movedFile2);
+      assertFalse(movedFile1.exists());
+      assertFalse(movedFile2.exists());
+    }
+  }
+
+  private static void write(File file, String content) throws Exception {
+    Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Events of the same change may be reported in multiple bursts on slow systems.
+   */
+  private static Set<File> takeUntil(SourceWatcher watcher, File... expectedFiles) {
+    return assertTimeoutPreemptively(TIMEOUT, () -> {
+      Set<File> files = new HashSet<>();
+      while (!files.containsAll(Set.of(expectedFiles))) {
+        files.addAll(watcher.take(100));
+      }
+      return files;
+    });
+  }
+
+}
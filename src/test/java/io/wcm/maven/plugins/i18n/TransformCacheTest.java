@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static io.wcm.maven.plugins.i18n.FileUtil.getFileFromClasspath;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TransformCacheTest {
+
+  @TempDir
+  File tempDir;
+
+  @Test
+  void testSaveLoad() throws Exception {
+    File cacheFile = new File(tempDir, "sub/cache.properties");
+
+    TransformCache cache = new TransformCache(cacheFile, "config1");
+    cache.load();
+    assertFalse(cache.isUpToDate("en.properties", "hash1"));
+    cache.put("en.properties", "hash1");
+    cache.put("de.properties", "hash2");
+    cache.save();
+
+    TransformCache loaded = new TransformCache(cacheFile, "config1");
+    loaded.load();
+    assertTrue(loaded.isUpToDate("en.properties", "hash1"));
+    assertTrue(loaded.isUpToDate("de.properties", "hash2"));
+    assertFalse(loaded.isUpToDate("en.properties", "hash2"));
+  }
+
+  @Test
+  void testConfigurationChanged() throws Exception {
+    File cacheFile = new File(tempDir, "cache.properties");
+
+    TransformCache cache = new TransformCache(cacheFile, "config1");
+    cache.put("en.properties", "hash1");
+    cache.save();
+
+    TransformCache loaded = new TransformCache(cacheFile, "config2");
+    loaded.load();
+    assertFalse(loaded.isUpToDate("en.properties", "hash1"));
+  }
+
+  @Test
+  void testRemoveRetain() {
+    TransformCache cache = new TransformCache(new File(tempDir, "cache.properties"), "config1");
+    cache.put("en.properties", "hash1");
+    cache.put("de.properties", "hash2");
+    cache.put("fr.properties", "hash3");
+
+    cache.remove("en.properties");
+    cache.retain(List.of("de.properties"));
+
+    assertFalse(cache.isUpToDate("en.properties", "hash1"));
+    assertTrue(cache.isUpToDate("de.properties", "hash2"));
+    assertFalse(cache.isUpToDate("fr.properties", "hash3"));
+  }
+
+  @Test
+  void testHash() throws Exception {
+    String hash1 = TransformCache.hash(getFileFromClasspath("readers/sampleI18n.properties"));
+    String hash2 = TransformCache.hash(getFileFromClasspath("readers/sampleI18n.json"));
+    assertEquals(64, hash1.length());
+    assertEquals(hash1, TransformCache.hash(getFileFromClasspath("readers/sampleI18n.properties")));
+    assertNotEquals(hash1, hash2);
+  }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jakarta.json.JsonObject;
+
+class TransformReportTest {
+
+  @TempDir
+  File tempDir;
+
+  @Test
+  void testReport() throws Exception {
+    TransformReport report = new TransformReport("default", List.of("JSON", "XML"), false);
+    report.discoveryDone();
+    report.setThreadCount(2);
+    assertFalse(report.hasFiles());
+
+    TransformReport.FileStatistics en = new TransformReport.FileStatistics("en.properties");
+    en.read(100, 1000, 10);
+    en.serialize(200, 2000);
+    en.serialize(300, 3000);
+    en.write(50);
+    en.targetFileWritten(2000);
+    en.targetFileUnchanged();
+    en.targetFileUnchanged();
+    report.add(en.done(TransformStatus.TRANSFORMED));
+
+    TransformReport.FileStatistics de = new TransformReport.FileStatistics("de.properties");
+    report.add(de.done(TransformStatus.SOURCE_UNCHANGED));
+    report.done();
+    assertTrue(report.hasFiles());
+
+    assertTrue(report.getSummary().startsWith("Transformed 2 i18n resource(s) in "));
+    assertTrue(report.getSummary().endsWith(": 1 written, 0 with unchanged output, 1 skipped as unchanged; "
+        + "10 keys, 1000 bytes read, 5000 bytes serialized, 2000 bytes written; "
+        + "1 target file(s) written, 2 not written as unchanged."));
+
+    File reportFile = new File(tempDir, "sub/report.json");
+    report.write(reportFile);
+    JsonObject json = JsonUtil.fromString(new String(Files.readAllBytes(reportFile.toPath()), StandardCharsets.UTF_8));
+
+    assertEquals("default", json.getString("executionId"));
+    assertEquals(2, json.getJsonArray("outputFormats").size());
+    assertEquals(2, json.getInt("threads"));
+
+    JsonObject totals = json.getJsonObject("totals");
+    assertEquals(2, totals.getInt("files"));
+    assertEquals(1, totals.getInt("transformed"));
+    assertEquals(1, totals.getInt("sourceUnchanged"));
+    assertEquals(10, totals.getInt("keys"));
+    assertEquals(5000, totals.getInt("bytesSerialized"));
+    assertEquals(2000, totals.getInt("bytesWritten"));
+    assertEquals(500, totals.getInt("serializeNanos"));
+    assertEquals(1, totals.getInt("targetFilesWritten"));
+    assertEquals(2, totals.getInt("targetFilesUnchanged"));
+
+    JsonObject file = json.getJsonArray("files").getJsonObject(0);
+    assertEquals("en.properties", file.getString("source"));
+    assertEquals("TRANSFORMED", file.getString("status"));
+    assertEquals(1000, file.getInt("bytesIn"));
+    assertEquals(50, file.getInt("writeNanos"));
+  }
+
+}
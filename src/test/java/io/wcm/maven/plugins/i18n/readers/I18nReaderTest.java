@@ -21,8 +21,12 @@ package io.wcm.maven.plugins.i18n.readers;
 
 import static io.wcm.maven.plugins.i18n.FileUtil.getFileFromClasspath;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
@@ -34,6 +38,11 @@ class I18nReaderTest {
       "key21.key22.key23", "value 2",
       "key3", "valueäöüß€");
 
+  private static final List<String> EXPECTED_ENTRIES = List.of(
+      "key1=value1",
+      "key21.key22.key23=value 2",
+      "key3=valueäöüß€");
+
   @Test
   void testProperties() throws Exception {
     File sampleFile = getFileFromClasspath("readers/sampleI18n.properties");
@@ -41,6 +50,18 @@ class I18nReaderTest {
     assertEquals(EXPECTED_MAP, result);
   }
 
+  @Test
+  void testProperties_Sink() throws Exception {
+    File sampleFile = getFileFromClasspath("readers/sampleI18n.properties");
+    assertEquals(EXPECTED_ENTRIES, readEntries(new PropertiesI18nReader(), sampleFile));
+  }
+
+  @Test
+  void testProperties_Parallel() throws Exception {
+    File sampleFile = getFileFromClasspath("readers/sampleI18n.properties");
+    assertEquals(EXPECTED_ENTRIES, readEntries(new PropertiesI18nReader(1), sampleFile));
+  }
+
   @Test
   void testXml() throws Exception {
     File sampleFile = getFileFromClasspath("readers/sampleI18n.xml");
@@ -48,6 +69,30 @@ class I18nReaderTest {
     assertEquals(EXPECTED_MAP, result);
   }
 
+  @Test
+  void testXml_Sink() throws Exception {
+    File sampleFile = getFileFromClasspath("readers/sampleI18n.xml");
+    assertEquals(EXPECTED_ENTRIES, readEntries(new XmlI18nReader(), sampleFile));
+  }
+
+  @Test
+  void testXml_Nested() throws Exception {
+    File sampleFile = getFileFromClasspath("readers/nestedI18n.xml");
+    Map<String, String> result = Map.copyOf(new XmlI18nReader().read(sampleFile));
+    assertEquals(Map.of(
+        "a.b.c", "value1",
+        "a.d", "<value2>",
+        "e", "value & 3",
+        "f.h", "value4",
+        "g", ""), result);
+  }
+
+  @Test
+  void testXml_ExternalEntity() throws Exception {
+    File sampleFile = getFileFromClasspath("readers/externalEntityI18n.xml");
+    assertThrows(IOException.class, () -> new XmlI18nReader().read(sampleFile));
+  }
+
   @Test
   void testJson() throws Exception {
     File sampleFile = getFileFromClasspath("readers/sampleI18n.json");
@@ -55,4 +100,33 @@ class I18nReaderTest {
     assertEquals(EXPECTED_MAP, result);
   }
 
+  @Test
+  void testJson_Sink() throws Exception {
+    File sampleFile = getFileFromClasspath("readers/sampleI18n.json");
+    assertEquals(EXPECTED_ENTRIES, readEntries(new JsonI18nReader(), sampleFile));
+  }
+
+  @Test
+  void testJson_Nested() throws Exception {
+    File sampleFile = getFileFromClasspath("readers/nestedI18n.json");
+    Map<String, String> result = Map.copyOf(new JsonI18nReader().read(sampleFile));
+    assertEquals(Map.of(
+        "a.b.c", "value1",
+        "a.d", "value2",
+        "e", "value3",
+        "f.h", "value4"), result);
+  }
+
+  @Test
+  void testJson_Invalid() throws Exception {
+    File sampleFile = getFileFromClasspath("readers/invalidI18n.json");
+    assertThrows(IOException.class, () -> new JsonI18nReader().read(sampleFile));
+  }
+
+  private static List<String> readEntries(I18nReader reader, File file) throws IOException {
+    List<String> entries = new ArrayList<>();
+    reader.read(file, (key, value) -> entries.add(key + "=" + value));
+    return entries;
+  }
+
 }
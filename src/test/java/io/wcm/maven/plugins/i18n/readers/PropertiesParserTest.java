@@ -0,0 +1,233 @@
+/*
+ * #%L
+ * wcm.io
+ * %%
+ * Copyright (C) 2026 wcm.io
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package io.wcm.maven.plugins.i18n.readers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Conformance tests of {@link PropertiesParser} against {@link Properties#load(Reader)}.
+ * Each input is parsed with different buffer sizes and with memory mapping to cover chunk boundaries,
+ * and split into chunks of different sizes that are parsed in parallel.
+ */
+class PropertiesParserTest {
+
+  private static final int[] BUFFER_SIZES = { 4, 5, 7, 64, 8192 };
+  private static final int[] CHUNK_SIZES = { 1, 3, 16 };
+
+  @TempDir
+  File tempDir;
+
+  static Stream<String> conformanceInputs() {
+    return Stream.of(
+        // separators
+        "a=b", "a:b", "a b", "a\tb", "a\fb", "a = b", "a : b", "a  \t  b", "a==b", "a=:b", "a:=b", "a =: b",
+        "a = = b", "a b=c", "a", "a=", "a:", "a ", "=b", ":b", " = ", "=", ":", "==",
+        // whitespace
+        "  a=b", "\t\fa=b", "a=b  ", "a=  b  c  ", "\n\n  \n\ta=b\n\n", "   ", "\f\n\t\r",
+        // comments
+        "#comment\na=b", "!comment\na=b", "  #comment\na=b", "\t!comment\r\na=b", "a=b#no comment",
+        "a=b\n#comment", "a=b\n!comment\nc=d", "#comment\\\na=b", "a#b=c", "#", "!", "#\n#\r\n!\r",
+        // line endings
+        "a=b\nc=d", "a=b\r\nc=d", "a=b\rc=d", "a=b\n\rc=d", "a=b\r\n\r\nc=d", "a=b\n", "a=b\r\n", "a=b\r",
+        // continuations
+        "a=b\\\nc", "a=b\\\n  c", "a=b\\\r\n  c", "a=b\\\r  c", "a=b\\\n\tc\\\n d", "a\\\n b=c", "a\\\n  =b",
+        "a=b\\\n\nc=d", "a=b\\\n  \nc=d", "a=b\\\n#c", "a=b\\\n  !c", "a=b\\\\\nc=d", "a=b\\\\\\\nc",
+        "a=b\\", "a=b\\\\", "a=b\\\\\\", "a=\\\n\\\n\\\nb", "a=b\\\r\nc\\\rd\\\ne",
+        // escapes
+        "a\\=b=c", "a\\:b:c", "a\\ b c", "a\\\tb c", "a\\\\=b", "\\#a=b", "\\!a=b", "a=\\#b",
+        "\\u0041=\\u00e4", "a=\\u00E4\\u00e4", "a=\\uD83D\\uDE00", "a=\\u0020b", "\\u003d=b",
+        "a=\\t\\n\\r\\f\\\\", "a=\\x\\y\\z\\\"\\'", "a=\\ b", "a\\nb=c", "a=b\\u000ac",
+        // unicode
+        "ä=ö", "a=€ 😀", "\u00a0a=b", "a\u3000b=c", "\ufeffa=b",
+        // duplicates
+        "a=1\na=2", "a=1\nb=2\na=3",
+        // empty
+        "");
+  }
+
+  @ParameterizedTest
+  @MethodSource("conformanceInputs")
+  void testConformance(String input) throws Exception {
+    assertConformance(input.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testConformance_LongLines() throws Exception {
+    StringBuilder input = new StringBuilder();
+    for (int i = 0; i < 20; i++) {
+      input.append("key").append(i).append('=').append("x".repeat(i * 500)).append("\\\n  ")
+          .append("y".repeat(3000)).append('\n');
+    }
+    assertConformance(input.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testConformance_MalformedUtf8() throws Exception {
+    assertConformance(new byte[] { 'a', '=', (byte)0xc3, 'b', '\n', (byte)0xe2, (byte)0x82, '=', (byte)0xff });
+  }
+
+  @Test
+  void testConformance_Random() throws Exception {
+    // unicode escapes and comments are not generated, older Java versions differ for malformed escapes
+    // and for comment characters following the continuation of an empty line
+    String[] alphabet = { "a", "b", "=", ":", " ", "\t", "\f", "\\", "\\", "\n", "\r", "0", "f", "ä", "😀" };
+    Random random = new Random(4711);
+    for (int i = 0; i < 2000; i++) {
+      StringBuilder input = new StringBuilder();
+      int length = random.nextInt(40);
+      for (int j = 0; j < length; j++) {
+        input.append(alphabet[random.nextInt(alphabet.length)]);
+      }
+      // end with a complete line to avoid corner cases that differ between Java versions
+      input.append("\nz=z\n");
+      assertConformance(input.toString().getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void testContinuationAtEndOfFile() throws Exception {
+    assertEquals(Map.of("a", "b"), parse("a=b\\\n".getBytes(StandardCharsets.UTF_8), 1024, 4));
+    assertEquals(Map.of("a", "b"), parse("a=b\\\r\n".getBytes(StandardCharsets.UTF_8), 1024, 4));
+  }
+
+  @Test
+  void testCommentAfterContinuationOfEmptyLine() throws Exception {
+    assertEquals(Map.of("a", "b"), parse("\\\n#comment\na=b".getBytes(StandardCharsets.UTF_8), 1024, 4));
+  }
+
+  @Test
+  void testMalformedUnicodeEscape() {
+    for (String input : new String[] { "a=\\u12", "a=\\u12G4", "\\uXYZW=b", "a=\\u" }) {
+      byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+      assertThrows(IllegalArgumentException.class, () -> loadProperties(bytes), input);
+      for (int bufferSize : BUFFER_SIZES) {
+        assertThrows(IOException.class, () -> parse(bytes, Long.MAX_VALUE, bufferSize), input);
+      }
+      assertThrows(IOException.class, () -> parseParallel(bytes, 1), input);
+    }
+  }
+
+  @Test
+  void testOrder() throws Exception {
+    byte[] bytes = "c=1\na=2\nb=3\na=4".getBytes(StandardCharsets.UTF_8);
+    assertEquals("c=1,a=2,b=3,a=4,", parseEntries(bytes));
+
+    StringBuilder entries = new StringBuilder();
+    new ParallelPropertiesParser(ByteBuffer.wrap(bytes), 1)
+        .parse((key, value) -> entries.append(key).append('=').append(value).append(','));
+    assertEquals("c=1,a=2,b=3,a=4,", entries.toString());
+  }
+
+  @Test
+  void testSplit() {
+    byte[] bytes = "a=1\\\nb\n#c\\\nd=2\\\\\ne=3\\\r\n4\r\nf=5".getBytes(StandardCharsets.UTF_8);
+    List<String> chunks = new ArrayList<>();
+    for (ByteBuffer chunk : PropertiesParser.split(ByteBuffer.wrap(bytes), 1)) {
+      chunks.add(StandardCharsets.UTF_8.decode(chunk).toString());
+    }
+    // no split after line continuations, and - conservatively - after comment lines ending with a backslash
+    assertEquals(List.of("a=1\\\nb\n", "#c\\\nd=2\\\\\n", "e=3\\\r\n4\r\n", "f=5"), chunks);
+  }
+
+  private void assertConformance(byte[] bytes) throws IOException {
+    Map<String, String> expected = loadProperties(bytes);
+    for (int bufferSize : BUFFER_SIZES) {
+      assertEquals(expected, parse(bytes, Long.MAX_VALUE, bufferSize), () -> describe(bytes, bufferSize));
+    }
+    assertEquals(expected, parse(bytes, 0, 8192), () -> describe(bytes, -1));
+    for (int chunkSize : CHUNK_SIZES) {
+      assertEquals(expected, parseParallel(bytes, chunkSize), () -> describe(bytes, -1) + ", chunk size: " + chunkSize);
+    }
+  }
+
+  private static String describe(byte[] bytes, int bufferSize) {
+    String input = escape(new String(bytes, StandardCharsets.UTF_8));
+    return "Input: " + input + ", buffer size: " + (bufferSize < 0 ? "mapped" : bufferSize);
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r").replace("\t", "\\t")
+        .replace("\f", "\\f");
+  }
+
+  private static Map<String, String> loadProperties(byte[] bytes) throws IOException {
+    Properties props = new Properties();
+    try (Reader reader = new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8)) {
+      props.load(reader);
+    }
+    Map<String, String> map = new HashMap<>();
+    for (String key : props.stringPropertyNames()) {
+      map.put(key, props.getProperty(key));
+    }
+    return map;
+  }
+
+  private Map<String, String> parse(byte[] bytes, long mappedFileThreshold, int bufferSize) throws IOException {
+    Map<String, String> map = new LinkedHashMap<>();
+    parse(bytes, mappedFileThreshold, bufferSize, map::put);
+    return map;
+  }
+
+  private static Map<String, String> parseParallel(byte[] bytes, int chunkSize) throws IOException {
+    Map<String, String> map = new LinkedHashMap<>();
+    new ParallelPropertiesParser(ByteBuffer.wrap(bytes), chunkSize).parse(map::put);
+    return map;
+  }
+
+  private String parseEntries(byte[] bytes) throws IOException {
+    StringBuilder entries = new StringBuilder();
+    parse(bytes, Long.MAX_VALUE, 4, (key, value) -> entries.append(key).append('=').append(value).append(','));
+    return entries.toString();
+  }
+
+  private void parse(byte[] bytes, long mappedFileThreshold, int bufferSize, I18nEntrySink sink) throws IOException {
+    File file = File.createTempFile("test", ".properties", tempDir);
+    Files.write(file.toPath(), bytes);
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      new PropertiesParser(channel, mappedFileThreshold, bufferSize).parse(sink);
+    }
+  }
+
+}